@@ -4,6 +4,16 @@ public final class ShareItConstants {
     // HTTP request
     public static final String REQ_HEAD_USER_ID = "X-Sharer-User-Id";
 
+    // HTTP response
+    public static final String RESP_HEAD_NEXT_CURSOR = "X-Next-Cursor";
+
+    // Pagination
+    public static final String PAGE_SIZE_DEFAULT = "100";
+    public static final int PAGE_SIZE_MAX = 1000;
+
+    // Streaming, rows fetched from the database cursor per round trip
+    public static final String STREAM_FETCH_SIZE = "500";
+
     private ShareItConstants() {
     }
 }
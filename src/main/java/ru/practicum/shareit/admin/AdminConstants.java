@@ -0,0 +1,11 @@
+package ru.practicum.shareit.admin;
+
+public final class AdminConstants {
+
+    // Import
+    public static final int IMPORT_BATCH_SIZE = 500;
+    public static final int IMPORT_ERRORS_MAX = 100;
+
+    private AdminConstants() {
+    }
+}
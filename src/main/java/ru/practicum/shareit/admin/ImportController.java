@@ -0,0 +1,25 @@
+package ru.practicum.shareit.admin;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.admin.dto.ImportReportDto;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/admin/import")
+@RequiredArgsConstructor
+public class ImportController {
+    private final ImportService importService;
+
+    @PostMapping(path = "/users", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ImportReportDto importUsers(InputStream body) {
+        return importService.importUsers(body);
+    }
+
+    @PostMapping(path = "/items", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ImportReportDto importItems(InputStream body) {
+        return importService.importItems(body);
+    }
+}
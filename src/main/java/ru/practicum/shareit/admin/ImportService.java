@@ -0,0 +1,12 @@
+package ru.practicum.shareit.admin;
+
+import ru.practicum.shareit.admin.dto.ImportReportDto;
+
+import java.io.InputStream;
+
+public interface ImportService {
+
+    ImportReportDto importUsers(InputStream input);
+
+    ImportReportDto importItems(InputStream input);
+}
@@ -0,0 +1,213 @@
+package ru.practicum.shareit.admin;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.admin.dto.ImportErrorDto;
+import ru.practicum.shareit.admin.dto.ImportReportDto;
+import ru.practicum.shareit.admin.dto.ItemImportDto;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserResolver;
+import ru.practicum.shareit.user.dto.UserCreateDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Imports JSON Lines one line at a time: each line is parsed and validated as it is read, valid lines are
+ * collected into batches of {@link AdminConstants#IMPORT_BATCH_SIZE} and each batch is inserted with JDBC batches
+ * in its own transaction. Invalid lines and failed batches are reported by line number and skipped.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportServiceImpl implements ImportService {
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final UserResolver userResolver;
+    private final ItemSearchIndex itemSearchIndex;
+
+    @Override
+    public ImportReportDto importUsers(InputStream input) {
+        ImportReportDto report = importLines(input, UserCreateDto.class, this::insertUsers);
+        log.info("Import users: {} of {} lines imported in {} ms", report.imported(), report.lines(),
+                report.durationMillis());
+        return report;
+    }
+
+    @Override
+    public ImportReportDto importItems(InputStream input) {
+        ImportReportDto report = importLines(input, ItemImportDto.class, this::insertItems);
+        log.info("Import items: {} of {} lines imported in {} ms", report.imported(), report.lines(),
+                report.durationMillis());
+        return report;
+    }
+
+    // Additional methods
+
+    private <T> ImportReportDto importLines(InputStream input, Class<T> type, BatchInserter<T> inserter) {
+        long startedAt = System.nanoTime();
+        Report report = new Report();
+        List<Line<T>> batch = new ArrayList<>(AdminConstants.IMPORT_BATCH_SIZE);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String text;
+            int number = 0;
+            while ((text = reader.readLine()) != null) {
+                number++;
+                if (text.isBlank()) continue;
+
+                report.lines++;
+                T value = parse(text, type, number, report);
+                if (value == null) continue;
+
+                batch.add(new Line<>(number, value));
+                if (batch.size() == AdminConstants.IMPORT_BATCH_SIZE) {
+                    insert(batch, inserter, report);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        insert(batch, inserter, report);
+
+        long durationNanos = System.nanoTime() - startedAt;
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        long rowsPerSecond = durationNanos == 0 ? 0 : report.imported * TimeUnit.SECONDS.toNanos(1) / durationNanos;
+        return new ImportReportDto(report.lines, report.imported, report.failed, durationMillis, rowsPerSecond,
+                report.errors);
+    }
+
+    private <T> T parse(String text, Class<T> type, int number, Report report) {
+        T value;
+        try {
+            value = objectMapper.readValue(text, type);
+        } catch (JsonProcessingException e) {
+            report.fail(number, String.format("Invalid JSON: %s", e.getOriginalMessage()));
+            return null;
+        }
+        if (value == null) {
+            report.fail(number, "Line must not be null");
+            return null;
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(value);
+        if (!violations.isEmpty()) {
+            report.fail(number, violations.stream()
+                    .map(v -> String.format("field = %s, message = %s", v.getPropertyPath(), v.getMessage()))
+                    .sorted()
+                    .collect(Collectors.joining("; ", "Validation failed: ", "")));
+            return null;
+        }
+        return value;
+    }
+
+    private <T> void insert(List<Line<T>> batch, BatchInserter<T> inserter, Report report) {
+        if (batch.isEmpty()) return;
+
+        report.batchFailures.clear();
+        try {
+            report.imported += inserter.insert(batch, report);
+        } catch (DataAccessException e) {
+            log.warn("Import batch failed: lines {}-{}", batch.getFirst().number(), batch.getLast().number(), e);
+            batch.stream()
+                    .filter(line -> !report.batchFailures.contains(line.number()))
+                    .forEach(line -> report.fail(line.number(), String.format("Batch failed: %s",
+                            e.getMostSpecificCause().getMessage())));
+        }
+    }
+
+    /**
+     * Inserts the users with emails not taken yet, neither in the database nor earlier in the batch.
+     */
+    private int insertUsers(List<Line<UserCreateDto>> batch, Report report) {
+        Set<String> taken = new HashSet<>(userRepository.findEmailsByEmailIn(batch.stream()
+                .map(line -> line.value().email())
+                .toList()));
+        List<User> users = new ArrayList<>();
+        for (Line<UserCreateDto> line : batch) {
+            if (!taken.add(line.value().email())) {
+                report.fail(line.number(), String.format("Email already exists: %s", line.value().email()));
+                continue;
+            }
+            users.add(UserMapper.toUser(line.value()));
+        }
+
+        userRepository.insertAll(users);
+        users.forEach(user -> userResolver.invalidate(user.getId()));
+        return users.size();
+    }
+
+    /**
+     * Inserts the items whose owners exist, resolving all owners of the batch with one query.
+     */
+    private int insertItems(List<Line<ItemImportDto>> batch, Report report) {
+        Set<Integer> ownerIds = userRepository.findIdsByIdIn(batch.stream()
+                .map(line -> line.value().ownerId())
+                .collect(Collectors.toSet()));
+        List<Item> items = new ArrayList<>();
+        for (Line<ItemImportDto> line : batch) {
+            ItemImportDto itemImportDto = line.value();
+            if (!ownerIds.contains(itemImportDto.ownerId())) {
+                report.fail(line.number(), String.format("User not found: id = %d", itemImportDto.ownerId()));
+                continue;
+            }
+            ItemCreateDto itemCreateDto = new ItemCreateDto(itemImportDto.name(), itemImportDto.description(),
+                    itemImportDto.available());
+            items.add(ItemMapper.toItem(itemCreateDto, userRepository.getReferenceById(itemImportDto.ownerId())));
+        }
+
+        itemRepository.insertAll(items);
+        items.forEach(itemSearchIndex::put);
+        return items.size();
+    }
+
+    @FunctionalInterface
+    private interface BatchInserter<T> {
+        int insert(List<Line<T>> batch, Report report);
+    }
+
+    private record Line<T>(int number, T value) {
+    }
+
+    private static final class Report {
+        private final List<ImportErrorDto> errors = new ArrayList<>();
+        // Lines of the current batch already reported, so a failed insert does not report them twice
+        private final Set<Integer> batchFailures = new HashSet<>();
+        private int lines;
+        private int imported;
+        private int failed;
+
+        private void fail(int line, String error) {
+            failed++;
+            batchFailures.add(line);
+            if (errors.size() < AdminConstants.IMPORT_ERRORS_MAX) {
+                errors.add(new ImportErrorDto(line, error));
+            }
+        }
+    }
+}
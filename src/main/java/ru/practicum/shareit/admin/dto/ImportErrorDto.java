@@ -0,0 +1,7 @@
+package ru.practicum.shareit.admin.dto;
+
+public record ImportErrorDto(
+        Integer line,
+        String error
+) {
+}
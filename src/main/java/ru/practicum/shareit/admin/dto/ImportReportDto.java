@@ -0,0 +1,13 @@
+package ru.practicum.shareit.admin.dto;
+
+import java.util.List;
+
+public record ImportReportDto(
+        Integer lines,
+        Integer imported,
+        Integer failed,
+        Long durationMillis,
+        Long rowsPerSecond,
+        List<ImportErrorDto> errors
+) {
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.admin.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import ru.practicum.shareit.item.ItemConstants;
+
+public record ItemImportDto(
+        @NotNull @Min(1)
+        Integer ownerId,
+        @NotBlank @Size(min = ItemConstants.NAME_MIN_LENGTH, max = ItemConstants.NAME_MAX_LENGTH)
+        String name,
+        @NotBlank @Size(min = ItemConstants.DESCRIPTION_MIN_LENGTH, max = ItemConstants.DESCRIPTION_MAX_LENGTH)
+        String description,
+        @NotNull
+        Boolean available
+) {
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Moves bookings that ended before the horizon to {@code bookings_archive}, keeping the live table small.
+ * Works in bounded batches, each batch is its own short transaction.
+ */
+@Slf4j
+@Component
+public class BookingArchiveJob {
+    private final BookingRepository bookingRepository;
+    private final Duration horizon;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Counter archivedCounter;
+    private final DistributionSummary runSummary;
+    private final Timer runTimer;
+
+    public BookingArchiveJob(BookingRepository bookingRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${shareit.booking.archive.horizon:P365D}") Duration horizon,
+                             @Value("${shareit.booking.archive.batch-size:1000}") int batchSize,
+                             @Value("${shareit.booking.archive.max-batches:50}") int maxBatches) {
+        this.bookingRepository = bookingRepository;
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.archivedCounter = Counter.builder("shareit.bookings.archived")
+                .description("Bookings moved to the archive")
+                .register(meterRegistry);
+        this.runSummary = DistributionSummary.builder("shareit.bookings.archive.rows")
+                .description("Bookings archived per run")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("shareit.bookings.archive.duration")
+                .description("Duration of an archival run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.archive.delay:PT1H}")
+    public void archiveEndedBookings() {
+        int archived = runTimer.record(() -> archive(LocalDateTime.now().minus(horizon)));
+        runSummary.record(archived);
+        if (archived > 0) {
+            log.info("Archive ended bookings: {} archived", archived);
+        }
+    }
+
+    // Additional methods
+
+    private int archive(LocalDateTime end) {
+        int archived = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            int moved = bookingRepository.archiveEndedBefore(end, batchSize);
+            archivedCounter.increment(moved);
+            archived += moved;
+
+            if (moved < batchSize) break;
+        }
+        return archived;
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+public interface BookingBatchRepository {
+
+    /**
+     * Inserts the new bookings as one JDBC batch and sets their generated ids.
+     */
+    void insertAll(Collection<Booking> bookings);
+
+    /**
+     * Moves the WAITING bookings to the given statuses as one JDBC batch and returns the ids that were updated.
+     * The WAITING rows are locked before the batch, so the result does not depend on the counts the driver reports;
+     * bookings no longer WAITING are left untouched.
+     */
+    Set<Integer> updateWaitingStatuses(Map<Integer, BookingStatus> statuses);
+
+    /**
+     * Moves up to {@code limit} bookings that ended before {@code end} from {@code bookings} to
+     * {@code bookings_archive} in one transaction and returns how many were moved.
+     */
+    int archiveEndedBefore(LocalDateTime end, int limit);
+}
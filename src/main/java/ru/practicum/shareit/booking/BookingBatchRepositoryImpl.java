@@ -0,0 +1,116 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plain JDBC batches: the IDENTITY ids of {@link Booking} stop Hibernate from batching inserts.
+ */
+@RequiredArgsConstructor
+public class BookingBatchRepositoryImpl implements BookingBatchRepository {
+    private static final String INSERT_SQL = """
+            INSERT INTO bookings (start_date, end_date, item_id, booker_id, status)
+            VALUES (:start, :end, :itemId, :bookerId, :status)
+            """;
+
+    private static final String LOCK_WAITING_SQL = """
+            SELECT id FROM bookings
+            WHERE id IN (:ids) AND status = 'WAITING'
+            ORDER BY id
+            FOR UPDATE
+            """;
+
+    private static final String UPDATE_WAITING_STATUS_SQL = """
+            UPDATE bookings SET status = :status, version = version + 1
+            WHERE id = :id AND status = 'WAITING'
+            """;
+
+    private static final String SELECT_ENDED_SQL = """
+            SELECT id FROM bookings
+            WHERE end_date < :end
+            ORDER BY id
+            LIMIT :limit
+            """;
+
+    private static final String ARCHIVE_SQL = """
+            INSERT INTO bookings_archive (id, start_date, end_date, item_id, booker_id, status, version)
+            SELECT id, start_date, end_date, item_id, booker_id, status, version FROM bookings
+            WHERE id IN (:ids)
+            """;
+
+    private static final String DELETE_SQL = """
+            DELETE FROM bookings
+            WHERE id IN (:ids)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void insertAll(Collection<Booking> bookings) {
+        if (bookings.isEmpty()) return;
+
+        SqlParameterSource[] batchArgs = bookings.stream()
+                .map(booking -> new MapSqlParameterSource()
+                        .addValue("start", booking.getStart())
+                        .addValue("end", booking.getEnd())
+                        .addValue("itemId", booking.getItem().getId())
+                        .addValue("bookerId", booking.getBooker().getId())
+                        .addValue("status", booking.getStatus().name()))
+                .toArray(SqlParameterSource[]::new);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs, keyHolder, new String[]{"id"});
+
+        Iterator<Booking> iterator = bookings.iterator();
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            Booking booking = iterator.next();
+            booking.setId(((Number) keys.values().iterator().next()).intValue());
+            booking.setVersion(0);
+        }
+    }
+
+    @Override
+    @Transactional
+    public Set<Integer> updateWaitingStatuses(Map<Integer, BookingStatus> statuses) {
+        if (statuses.isEmpty()) return Set.of();
+
+        // Batch counts may come back as SUCCESS_NO_INFO, so the rows are locked first: a locked WAITING row
+        // cannot be processed by anyone else before this transaction commits
+        List<Integer> ids = jdbcTemplate.queryForList(LOCK_WAITING_SQL,
+                new MapSqlParameterSource("ids", statuses.keySet()), Integer.class);
+        if (ids.isEmpty()) return Set.of();
+
+        SqlParameterSource[] batchArgs = ids.stream()
+                .map(id -> new MapSqlParameterSource()
+                        .addValue("id", id)
+                        .addValue("status", statuses.get(id).name()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(UPDATE_WAITING_STATUS_SQL, batchArgs);
+        return new HashSet<>(ids);
+    }
+
+    @Override
+    @Transactional
+    public int archiveEndedBefore(LocalDateTime end, int limit) {
+        List<Integer> ids = jdbcTemplate.queryForList(SELECT_ENDED_SQL,
+                new MapSqlParameterSource().addValue("end", end).addValue("limit", limit), Integer.class);
+        if (ids.isEmpty()) return 0;
+
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        jdbcTemplate.update(ARCHIVE_SQL, params);
+        return jdbcTemplate.update(DELETE_SQL, params);
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.booking;
+
+public final class BookingConstants {
+
+    // Batch requests
+    public static final int BATCH_SIZE_MAX = 100;
+
+    private BookingConstants() {
+    }
+}
@@ -1,16 +1,32 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResultDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateDto;
+import ru.practicum.shareit.page.NdjsonResponses;
+import ru.practicum.shareit.page.PageResponses;
 
 import java.util.List;
 
+import static ru.practicum.shareit.ShareItConstants.PAGE_SIZE_DEFAULT;
+import static ru.practicum.shareit.ShareItConstants.PAGE_SIZE_MAX;
 import static ru.practicum.shareit.ShareItConstants.REQ_HEAD_USER_ID;
 
 @Validated
@@ -19,6 +35,7 @@ import static ru.practicum.shareit.ShareItConstants.REQ_HEAD_USER_ID;
 @RequiredArgsConstructor
 public class BookingController {
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -29,6 +46,14 @@ public class BookingController {
         return bookingService.createBooking(userId, bookingCreateDto);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createBookings(
+            @RequestHeader(REQ_HEAD_USER_ID) @Min(1) Integer userId,
+            @RequestBody @NotEmpty @Size(max = BookingConstants.BATCH_SIZE_MAX) List<BookingCreateDto> bookingCreateDtos
+    ) {
+        return bookingService.createBookings(userId, bookingCreateDtos);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingResponseDto updateBookingStatus(
             @RequestHeader(REQ_HEAD_USER_ID) @Min(1) Integer userId,
@@ -38,27 +63,68 @@ public class BookingController {
         return bookingService.updateBookingStatus(userId, bookingId, approved);
     }
 
+    @PatchMapping("/status")
+    public List<BookingStatusResultDto> updateBookingStatuses(
+            @RequestHeader(REQ_HEAD_USER_ID) @Min(1) Integer userId,
+            @RequestBody @NotEmpty @Size(max = BookingConstants.BATCH_SIZE_MAX)
+            List<@Valid BookingStatusUpdateDto> updates
+    ) {
+        return bookingService.updateBookingStatuses(userId, updates);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingResponseDto getBookingById(
             @RequestHeader(REQ_HEAD_USER_ID) @Min(1) Integer userId,
-            @PathVariable @Min(1) Integer bookingId
+            @PathVariable @Min(1) Integer bookingId,
+            WebRequest request
     ) {
+        if (request.checkNotModified(bookingService.getBookingETag(userId, bookingId))) return null;
         return bookingService.getBookingById(userId, bookingId);
     }
 
     @GetMapping
-    public List<BookingResponseDto> getBookingsByUserId(
+    public ResponseEntity<List<BookingResponseDto>> getBookingsByUserId(
             @RequestHeader(REQ_HEAD_USER_ID) @Min(1) Integer userId,
-            @RequestParam(defaultValue = "ALL") String state
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(defaultValue = PAGE_SIZE_DEFAULT) @Min(1) @Max(PAGE_SIZE_MAX) Integer size,
+            @RequestParam(required = false) String cursor
     ) {
-        return bookingService.getBookingsByUserId(userId, state);
+        return PageResponses.ok(bookingService.getBookingsByUserId(userId, state, from, size, cursor));
     }
 
     @GetMapping("/owner")
-    public List<BookingResponseDto> getBookingsByOwnerId(
+    public ResponseEntity<List<BookingResponseDto>> getBookingsByOwnerId(
             @RequestHeader(REQ_HEAD_USER_ID) @Min(1) Integer ownerId,
-            @RequestParam(defaultValue = "ALL") String state
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(defaultValue = PAGE_SIZE_DEFAULT) @Min(1) @Max(PAGE_SIZE_MAX) Integer size,
+            @RequestParam(required = false) String cursor
     ) {
-        return bookingService.getBookingsByOwnerId(ownerId, state);
+        return PageResponses.ok(bookingService.getBookingsByOwnerId(ownerId, state, from, size, cursor));
+    }
+
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBookingsByUserId(
+            @RequestHeader(REQ_HEAD_USER_ID) @Min(1) Integer userId
+    ) {
+        return NdjsonResponses.ok(objectMapper, bookingService.exportBookingsByUserId(userId));
+    }
+
+    @GetMapping(path = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBookingsByOwnerId(
+            @RequestHeader(REQ_HEAD_USER_ID) @Min(1) Integer ownerId
+    ) {
+        return NdjsonResponses.ok(objectMapper, bookingService.exportBookingsByOwnerId(ownerId));
+    }
+
+    @GetMapping("/stats")
+    public BookingStatsDto getBookingStatsByUserId(@RequestHeader(REQ_HEAD_USER_ID) @Min(1) Integer userId) {
+        return bookingService.getBookingStatsByUserId(userId);
+    }
+
+    @GetMapping("/owner/stats")
+    public BookingStatsDto getBookingStatsByOwnerId(@RequestHeader(REQ_HEAD_USER_ID) @Min(1) Integer ownerId) {
+        return bookingService.getBookingStatsByOwnerId(ownerId);
     }
 }
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cancels WAITING bookings whose start has passed, so they stop blocking the item and cluttering the owner's
+ * WAITING list. Works in bounded batches, each batch is its own short transaction. Each run also drops the bookings
+ * that have ended from {@link BookingIntervalIndex}.
+ */
+@Slf4j
+@Component
+public class BookingExpiryJob {
+    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Counter expiredCounter;
+    private final DistributionSummary runSummary;
+    private final Timer runTimer;
+
+    public BookingExpiryJob(BookingRepository bookingRepository,
+                            BookingIntervalIndex bookingIntervalIndex,
+                            MeterRegistry meterRegistry,
+                            @Value("${shareit.booking.expiry.batch-size:500}") int batchSize,
+                            @Value("${shareit.booking.expiry.max-batches:20}") int maxBatches) {
+        this.bookingRepository = bookingRepository;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.expiredCounter = Counter.builder("shareit.bookings.expired")
+                .description("WAITING bookings canceled after their start has passed")
+                .register(meterRegistry);
+        this.runSummary = DistributionSummary.builder("shareit.bookings.expiry.rows")
+                .description("Bookings canceled per expiry run")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("shareit.bookings.expiry.duration")
+                .description("Duration of an expiry run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.expiry.delay:PT1M}")
+    public void expireWaitingBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = runTimer.record(() -> expire(now));
+        runSummary.record(expired);
+        if (expired > 0) {
+            log.info("Expire waiting bookings: {} canceled", expired);
+        }
+        int pruned = bookingIntervalIndex.pruneEndedBefore(now);
+        if (pruned > 0) {
+            log.info("Prune booking interval index: {} ended bookings dropped", pruned);
+        }
+    }
+
+    // Additional methods
+
+    private int expire(LocalDateTime now) {
+        int expired = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            List<Integer> batch = bookingRepository.findIdsByStatusAndStartBefore(BookingStatus.WAITING, now,
+                    Limit.of(batchSize));
+            if (batch.isEmpty()) break;
+
+            // Bookings approved or rejected since the select are skipped by the WAITING guard of the update
+            Set<Integer> updated = bookingRepository.updateWaitingStatuses(batch.stream()
+                    .collect(Collectors.toMap(Function.identity(), id -> BookingStatus.CANCELED)));
+            bookingIntervalIndex.removeAll(updated);
+            expiredCounter.increment(updated.size());
+            expired += updated.size();
+
+            if (batch.size() < batchSize) break;
+        }
+        return expired;
+    }
+}
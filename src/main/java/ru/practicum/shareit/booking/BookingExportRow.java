@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat row of a booking export. Read as a projection, so streamed rows are never held by the persistence context.
+ */
+public record BookingExportRow(
+        Integer id,
+        LocalDateTime start,
+        LocalDateTime end,
+        Integer itemId,
+        String itemName,
+        Integer bookerId,
+        String bookerName,
+        String bookerEmail,
+        BookingStatus status
+) {
+}
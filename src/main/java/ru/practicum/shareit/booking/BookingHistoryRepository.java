@@ -0,0 +1,120 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static ru.practicum.shareit.ShareItConstants.STREAM_FETCH_SIZE;
+
+/**
+ * Queries that must see archived bookings too. Everything else reads the live {@link BookingRepository}.
+ */
+public interface BookingHistoryRepository extends Repository<BookingHistory, Integer> {
+
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    Optional<BookingHistory> findById(Integer id);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<BookingHistory> findByBookerIdOrderByStartDescIdDesc(Integer bookerId, ScrollPosition position,
+                                                                Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<BookingHistory> findByBookerIdAndEndBeforeOrderByStartDescIdDesc(Integer bookerId, LocalDateTime end,
+                                                                            ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<BookingHistory> findByBookerIdAndStatusOrderByStartDescIdDesc(Integer bookerId, BookingStatus status,
+                                                                         ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<BookingHistory> findByItemOwnerIdOrderByStartDescIdDesc(Integer ownerId, ScrollPosition position,
+                                                                   Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<BookingHistory> findByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(Integer ownerId, LocalDateTime end,
+                                                                               ScrollPosition position, Limit limit);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<BookingHistory> findByItemOwnerIdAndStatusOrderByStartDescIdDesc(Integer ownerId, BookingStatus status,
+                                                                            ScrollPosition position, Limit limit);
+
+    Optional<BookingHistory> findFirstByItemIdAndStatusAndEndBeforeOrderByEndDesc(Integer itemId,
+                                                                                 BookingStatus status,
+                                                                                 LocalDateTime end);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.BookingExportRow(b.id, b.start, b.end, i.id, i.name,
+                u.id, u.name, u.email, b.status)
+            FROM BookingHistory b
+            JOIN b.item i
+            JOIN b.booker u
+            WHERE u.id = :bookerId
+            ORDER BY b.start DESC, b.id DESC
+            """)
+    Stream<BookingExportRow> streamByBookerId(@Param("bookerId") Integer bookerId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.BookingExportRow(b.id, b.start, b.end, i.id, i.name,
+                u.id, u.name, u.email, b.status)
+            FROM BookingHistory b
+            JOIN b.item i
+            JOIN b.booker u
+            WHERE i.owner.id = :ownerId
+            ORDER BY b.start DESC, b.id DESC
+            """)
+    Stream<BookingExportRow> streamByItemOwnerId(@Param("ownerId") Integer ownerId);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.BookingStamp(u.id, i.owner.id, b.version, i.version, u.version)
+            FROM BookingHistory b
+            JOIN b.item i
+            JOIN b.booker u
+            WHERE b.id = :bookingId
+            """)
+    Optional<BookingStamp> findStampById(@Param("bookingId") Integer bookingId);
+
+    boolean existsByBookerIdAndItemIdAndEndBefore(Integer bookerId, Integer itemId, LocalDateTime end);
+
+    /**
+     * Counts the bookings of each {@link BookingState} with the same predicates as the listings, in one pass.
+     */
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.dto.BookingStatsDto(
+                COUNT(b),
+                COALESCE(SUM(CASE WHEN b.start < :now AND b.end > :now THEN 1 ELSE 0 END), 0),
+                COALESCE(SUM(CASE WHEN b.end < :now THEN 1 ELSE 0 END), 0),
+                COALESCE(SUM(CASE WHEN b.start > :now THEN 1 ELSE 0 END), 0),
+                COALESCE(SUM(CASE WHEN b.status = 'WAITING' THEN 1 ELSE 0 END), 0),
+                COALESCE(SUM(CASE WHEN b.status = 'REJECTED' THEN 1 ELSE 0 END), 0))
+            FROM BookingHistory b
+            WHERE b.booker.id = :bookerId
+            """)
+    BookingStatsDto getStatsByBookerId(@Param("bookerId") Integer bookerId, @Param("now") LocalDateTime now);
+
+    @Query("""
+            SELECT new ru.practicum.shareit.booking.dto.BookingStatsDto(
+                COUNT(b),
+                COALESCE(SUM(CASE WHEN b.start < :now AND b.end > :now THEN 1 ELSE 0 END), 0),
+                COALESCE(SUM(CASE WHEN b.end < :now THEN 1 ELSE 0 END), 0),
+                COALESCE(SUM(CASE WHEN b.start > :now THEN 1 ELSE 0 END), 0),
+                COALESCE(SUM(CASE WHEN b.status = 'WAITING' THEN 1 ELSE 0 END), 0),
+                COALESCE(SUM(CASE WHEN b.status = 'REJECTED' THEN 1 ELSE 0 END), 0))
+            FROM BookingHistory b
+            WHERE b.item.owner.id = :ownerId
+            """)
+    BookingStatsDto getStatsByOwnerId(@Param("ownerId") Integer ownerId, @Param("now") LocalDateTime now);
+}
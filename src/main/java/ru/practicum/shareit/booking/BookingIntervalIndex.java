@@ -0,0 +1,184 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-item interval trees of the bookings that block a time range: APPROVED and WAITING. Ranges are half-open,
+ * {@code [start, end)}, in the overlap checks and in the free slots alike.
+ * Loaded with the unfinished blocking bookings at startup, kept current by the booking writes and pruned of the
+ * finished ones by {@link BookingExpiryJob}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+    public static final List<BookingStatus> BLOCKING_STATUSES = List.of(BookingStatus.APPROVED,
+            BookingStatus.WAITING);
+
+    private final BookingRepository bookingRepository;
+    private final Map<Integer, BookingIntervalTree> trees = new ConcurrentHashMap<>();
+    private final Map<Integer, Placement> placements = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        trees.clear();
+        placements.clear();
+        List<Booking> bookings = bookingRepository.findByStatusInAndEndAfter(BLOCKING_STATUSES, LocalDateTime.now());
+        bookings.forEach(this::put);
+        log.info("Booking interval index rebuilt: {} bookings, {} items", bookings.size(), trees.size());
+    }
+
+    /**
+     * Adds a blocking booking, moves it if its range changed, or drops a booking whose status no longer blocks
+     * its range.
+     */
+    public void put(Booking booking) {
+        removeAll(List.of(booking.getId()));
+        if (!BLOCKING_STATUSES.contains(booking.getStatus())) return;
+
+        Integer itemId = booking.getItem().getId();
+        BookingIntervalTree.Interval interval = toInterval(booking);
+        while (true) {
+            BookingIntervalTree tree = trees.computeIfAbsent(itemId, id -> new BookingIntervalTree());
+            synchronized (tree) {
+                // A tree emptied by pruning may have left the map meanwhile
+                if (trees.get(itemId) != tree) continue;
+
+                tree.insert(interval);
+                placements.put(booking.getId(), new Placement(itemId, interval));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drops the bookings by id, so callers need not load them: the index remembers the item and range of each.
+     */
+    public void removeAll(Collection<Integer> bookingIds) {
+        for (Integer bookingId : bookingIds) {
+            Placement placement = placements.get(bookingId);
+            if (placement == null) continue;
+
+            BookingIntervalTree tree = trees.get(placement.itemId());
+            if (tree == null) continue;
+
+            synchronized (tree) {
+                if (placements.remove(bookingId, placement)) {
+                    tree.remove(placement.interval());
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the trees of deleted items together with their bookings.
+     */
+    public void removeItems(Collection<Integer> itemIds) {
+        for (Integer itemId : itemIds) {
+            BookingIntervalTree tree = trees.remove(itemId);
+            if (tree == null) continue;
+
+            synchronized (tree) {
+                tree.overlapping(LocalDateTime.MIN, LocalDateTime.MAX)
+                        .forEach(interval -> placements.remove(interval.bookingId()));
+            }
+        }
+    }
+
+    /**
+     * Drops the bookings that ended by {@code now}: a finished booking blocks no range that can still be booked.
+     * Trees left empty are dropped too. Returns how many bookings were dropped.
+     */
+    public int pruneEndedBefore(LocalDateTime now) {
+        int pruned = 0;
+        for (Map.Entry<Integer, BookingIntervalTree> entry : trees.entrySet()) {
+            BookingIntervalTree tree = entry.getValue();
+            synchronized (tree) {
+                for (BookingIntervalTree.Interval interval : tree.overlapping(LocalDateTime.MIN, now)) {
+                    if (interval.end().isAfter(now)) continue;
+
+                    tree.remove(interval);
+                    placements.remove(interval.bookingId(), new Placement(entry.getKey(), interval));
+                    pruned++;
+                }
+                if (tree.size() == 0) trees.remove(entry.getKey(), tree);
+            }
+        }
+        return pruned;
+    }
+
+    public boolean overlaps(Integer itemId, LocalDateTime start, LocalDateTime end) {
+        BookingIntervalTree tree = trees.get(itemId);
+        if (tree == null) return false;
+
+        synchronized (tree) {
+            return tree.overlaps(start, end);
+        }
+    }
+
+    /**
+     * Returns the items of {@code itemIds} that have a blocking booking sharing at least one instant with
+     * {@code [start, end)}.
+     */
+    public Set<Integer> getBusyItemIds(Collection<Integer> itemIds, LocalDateTime start, LocalDateTime end) {
+        Set<Integer> busy = new HashSet<>();
+        for (Integer itemId : itemIds) {
+            if (overlaps(itemId, start, end)) busy.add(itemId);
+        }
+        return busy;
+    }
+
+    /**
+     * Returns the gaps between the blocking bookings of the item within {@code [from, to]}, merging the bookings
+     * in one pass over the tree. A gap shares its bounds with the neighbouring bookings, so a booking of exactly
+     * that gap is accepted.
+     */
+    public List<TimeSlotDto> getFreeSlots(Integer itemId, LocalDateTime from, LocalDateTime to) {
+        BookingIntervalTree tree = trees.get(itemId);
+        List<BookingIntervalTree.Interval> busy;
+        if (tree == null) {
+            busy = List.of();
+        } else {
+            synchronized (tree) {
+                busy = tree.overlapping(from, to);
+            }
+        }
+
+        List<TimeSlotDto> slots = new ArrayList<>();
+        LocalDateTime free = from;
+        for (BookingIntervalTree.Interval interval : busy) {
+            if (interval.start().isAfter(free)) {
+                slots.add(new TimeSlotDto(free, interval.start()));
+            }
+            if (interval.end().isAfter(free)) {
+                free = interval.end();
+            }
+        }
+        if (free.isBefore(to)) {
+            slots.add(new TimeSlotDto(free, to));
+        }
+        return slots;
+    }
+
+    // Additional methods
+
+    private record Placement(Integer itemId, BookingIntervalTree.Interval interval) {
+    }
+
+    private static BookingIntervalTree.Interval toInterval(Booking booking) {
+        return new BookingIntervalTree.Interval(booking.getId(), booking.getStart(), booking.getEnd());
+    }
+}
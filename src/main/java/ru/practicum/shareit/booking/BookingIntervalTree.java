@@ -0,0 +1,171 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * AVL tree of booking intervals ordered by (start, bookingId), each node augmented with the maximum end of its
+ * subtree. Intervals are half-open, {@code [start, end)}: a booking may start at the instant the previous one
+ * ends, and the gaps returned as free slots can be booked as they are.
+ * Not thread-safe, callers synchronize on the tree.
+ */
+class BookingIntervalTree {
+    private static final Comparator<Interval> ORDER = Comparator.comparing(Interval::start)
+            .thenComparing(Interval::bookingId);
+
+    private Node root;
+    private int size;
+
+    public void insert(Interval interval) {
+        root = insert(root, interval);
+    }
+
+    public void remove(Interval interval) {
+        root = remove(root, interval);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether any interval shares at least one instant with {@code [start, end)}. Runs in O(log n).
+     */
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        Node node = root;
+        while (node != null) {
+            if (node.interval.overlaps(start, end)) return true;
+            node = node.left != null && node.left.maxEnd.isAfter(start) ? node.left : node.right;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the intervals sharing at least one instant with {@code [start, end)}, ordered by start.
+     */
+    public List<Interval> overlapping(LocalDateTime start, LocalDateTime end) {
+        List<Interval> result = new ArrayList<>();
+        collect(root, start, end, result);
+        return result;
+    }
+
+    // Additional methods
+
+    private static void collect(Node node, LocalDateTime start, LocalDateTime end, List<Interval> result) {
+        if (node == null || !node.maxEnd.isAfter(start)) return;
+
+        collect(node.left, start, end, result);
+        if (!node.interval.start().isBefore(end)) return;
+        if (node.interval.overlaps(start, end)) result.add(node.interval);
+        collect(node.right, start, end, result);
+    }
+
+    private Node insert(Node node, Interval interval) {
+        if (node == null) {
+            size++;
+            return new Node(interval);
+        }
+        int compare = ORDER.compare(interval, node.interval);
+        if (compare < 0) {
+            node.left = insert(node.left, interval);
+        } else if (compare > 0) {
+            node.right = insert(node.right, interval);
+        } else {
+            node.interval = interval;
+        }
+        return balance(node);
+    }
+
+    private Node remove(Node node, Interval interval) {
+        if (node == null) return null;
+
+        int compare = ORDER.compare(interval, node.interval);
+        if (compare < 0) {
+            node.left = remove(node.left, interval);
+        } else if (compare > 0) {
+            node.right = remove(node.right, interval);
+        } else {
+            if (node.left == null || node.right == null) {
+                size--;
+                return node.left == null ? node.right : node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.interval = successor.interval;
+            node.right = remove(node.right, successor.interval);
+        }
+        return balance(node);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = node.interval.end();
+        if (node.left != null && node.left.maxEnd.isAfter(node.maxEnd)) node.maxEnd = node.left.maxEnd;
+        if (node.right != null && node.right.maxEnd.isAfter(node.maxEnd)) node.maxEnd = node.right.maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    public record Interval(Integer bookingId, LocalDateTime start, LocalDateTime end) {
+
+        boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+            return start.isBefore(otherEnd) && end.isAfter(otherStart);
+        }
+    }
+
+    private static final class Node {
+        private Interval interval;
+        private LocalDateTime maxEnd;
+        private int height;
+        private Node left;
+        private Node right;
+
+        private Node(Interval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.end();
+            this.height = 1;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * Striped per-item locks that serialize the overlap check and the insert of bookings for the same item,
+ * while bookings for other items proceed in parallel. The locks guard a single application instance.
+ */
+@Component
+public class BookingLocks {
+    private static final int STRIPES = 256;
+
+    private final List<Lock> locks = IntStream.range(0, STRIPES)
+            .<Lock>mapToObj(i -> new ReentrantLock())
+            .toList();
+
+    public Lock forItem(Integer itemId) {
+        return locks.get(stripe(itemId));
+    }
+
+    /**
+     * Returns the distinct locks of the items in stripe order, so that callers taking several of them
+     * in this order cannot deadlock.
+     */
+    public List<Lock> forItems(Collection<Integer> itemIds) {
+        return itemIds.stream()
+                .map(BookingLocks::stripe)
+                .distinct()
+                .sorted()
+                .map(locks::get)
+                .toList();
+    }
+
+    // Additional methods
+
+    private static int stripe(Integer itemId) {
+        return Math.floorMod(itemId.hashCode(), STRIPES);
+    }
+}
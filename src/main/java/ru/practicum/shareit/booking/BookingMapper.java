@@ -7,8 +7,10 @@ import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.dto.BookingShortResponseDto;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemShortResponseDto;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.dto.UserResponseDto;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class BookingMapper {
@@ -20,7 +22,25 @@ public final class BookingMapper {
                 bookingCreateDto.end(),
                 item,
                 user,
-                BookingStatus.WAITING
+                BookingStatus.WAITING,
+                null
+        );
+    }
+
+    /**
+     * Returns a copy of the booking moved to {@code status} by a JDBC update. The loaded entity may still be managed
+     * by the persistence context of the request and must stay untouched, or a later flush would write it back with
+     * its old version.
+     */
+    public static Booking withStatus(Booking booking, BookingStatus status) {
+        return new Booking(
+                booking.getId(),
+                booking.getStart(),
+                booking.getEnd(),
+                booking.getItem(),
+                booking.getBooker(),
+                status,
+                booking.getVersion() + 1
         );
     }
 
@@ -35,11 +55,41 @@ public final class BookingMapper {
         );
     }
 
-    public static BookingShortResponseDto toBookingShortResponseDto(Booking booking) {
-        return booking == null ? null : new BookingShortResponseDto(
+    public static BookingResponseDto toBookingResponseDto(BookingHistory booking) {
+        return new BookingResponseDto(
                 booking.getId(),
                 booking.getStart(),
-                booking.getEnd()
+                booking.getEnd(),
+                ItemMapper.toItemShortResponseDto(booking.getItem()),
+                UserMapper.toUserResponseDto(booking.getBooker()),
+                booking.getStatus()
+        );
+    }
+
+    public static BookingResponseDto toBookingResponseDto(BookingExportRow row) {
+        return new BookingResponseDto(
+                row.id(),
+                row.start(),
+                row.end(),
+                new ItemShortResponseDto(row.itemId(), row.itemName()),
+                new UserResponseDto(row.bookerId(), row.bookerName(), row.bookerEmail()),
+                row.status()
+        );
+    }
+
+    public static BookingShortResponseDto toLastBookingShortResponseDto(ItemBookingSummary summary) {
+        return summary == null || summary.getLastBookingId() == null ? null : new BookingShortResponseDto(
+                summary.getLastBookingId(),
+                summary.getLastStart(),
+                summary.getLastEnd()
+        );
+    }
+
+    public static BookingShortResponseDto toNextBookingShortResponseDto(ItemBookingSummary summary) {
+        return summary == null || summary.getNextBookingId() == null ? null : new BookingShortResponseDto(
+                summary.getNextBookingId(),
+                summary.getNextStart(),
+                summary.getNextEnd()
         );
     }
 }
@@ -1,57 +1,64 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Integer> {
+public interface BookingRepository extends JpaRepository<Booking, Integer>, BookingBatchRepository {
 
-    List<Booking> findByBookerIdOrderByStartDesc(Integer bookerId);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(Integer bookerId,
+                                                                                  LocalDateTime start,
+                                                                                  LocalDateTime end,
+                                                                                  ScrollPosition position,
+                                                                                  Limit limit);
 
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Integer bookerId, LocalDateTime start,
-                                                                          LocalDateTime end);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndStartAfterOrderByStartDescIdDesc(Integer bookerId, LocalDateTime start,
+                                                                      ScrollPosition position, Limit limit);
 
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(Integer bookerId, LocalDateTime end);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByBookerIdAndStatusOrderByStartDescIdDesc(Integer bookerId, BookingStatus bookingStatus,
+                                                                  ScrollPosition position, Limit limit);
 
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(Integer bookerId, LocalDateTime start);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(Integer ownerId,
+                                                                                     LocalDateTime start,
+                                                                                     LocalDateTime end,
+                                                                                     ScrollPosition position,
+                                                                                     Limit limit);
 
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(Integer bookerId, BookingStatus bookingStatus);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(Integer ownerId, LocalDateTime start,
+                                                                         ScrollPosition position, Limit limit);
 
-    List<Booking> findByItemOwnerIdOrderByStartDesc(Integer ownerId);
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Window<Booking> findByItemOwnerIdAndStatusOrderByStartDescIdDesc(Integer ownerId, BookingStatus bookingStatus,
+                                                                     ScrollPosition position, Limit limit);
 
-    List<Booking> findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Integer ownerId, LocalDateTime start,
-                                                                             LocalDateTime end);
+    Optional<Booking> findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(Integer itemId, BookingStatus status,
+                                                                            LocalDateTime start);
 
-    List<Booking> findByItemOwnerIdAndEndBeforeOrderByStartDesc(Integer ownerId, LocalDateTime end);
+    Optional<Booking> findFirstByItemIdAndStatusAndEndGreaterThanEqualOrderByEndAsc(Integer itemId,
+                                                                                   BookingStatus status,
+                                                                                   LocalDateTime end);
 
-    List<Booking> findByItemOwnerIdAndStartAfterOrderByStartDesc(Integer ownerId, LocalDateTime start);
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker WHERE b.id IN :ids")
+    List<Booking> findWithItemAndBookerByIdIn(@Param("ids") Collection<Integer> ids);
 
-    List<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(Integer ownerId, BookingStatus bookingStatus);
+    @Query("SELECT b.id FROM Booking b WHERE b.status = :status AND b.start < :start ORDER BY b.id")
+    List<Integer> findIdsByStatusAndStartBefore(@Param("status") BookingStatus status,
+                                                @Param("start") LocalDateTime start,
+                                                Limit limit);
 
-    boolean existsByBookerIdAndItemIdAndEndBefore(Integer bookerId, Integer itemId, LocalDateTime end);
-
-    Optional<Booking> findFirstByItemIdAndEndBeforeOrderByEndDesc(Integer itemId, LocalDateTime now);
-
-    Optional<Booking> findFirstByItemIdAndStartAfterOrderByStartAsc(Integer itemId, LocalDateTime now);
-
-    List<Booking> findByItemIdInAndStatus(List<Integer> itemIds, BookingStatus status);
-
-    @Query("""
-            SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END
-            FROM Booking b
-            WHERE b.item.id = :itemId
-            AND b.status IN (:statuses)
-            AND ((b.start BETWEEN :start AND :end) OR
-            (b.end BETWEEN :start AND :end) OR
-            (b.start <= :start AND b.end >= :end))
-            """)
-    boolean existsByItemIdAndDateRangeAndStateIn(
-            @Param("itemId") Integer itemId,
-            @Param("start") LocalDateTime start,
-            @Param("end") LocalDateTime end,
-            @Param("statuses") List<BookingStatus> statuses);
+    List<Booking> findByStatusInAndEndAfter(List<BookingStatus> statuses, LocalDateTime end);
 }
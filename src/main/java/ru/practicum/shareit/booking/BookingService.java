@@ -1,19 +1,41 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResultDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateDto;
+import ru.practicum.shareit.page.CursorPage;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
 
     BookingResponseDto createBooking(Integer userId, BookingCreateDto bookingCreateDto);
 
+    List<BookingBatchResultDto> createBookings(Integer userId, List<BookingCreateDto> bookingCreateDtos);
+
     BookingResponseDto updateBookingStatus(Integer userId, Integer bookingId, boolean approved);
 
+    List<BookingStatusResultDto> updateBookingStatuses(Integer userId, List<BookingStatusUpdateDto> updates);
+
     BookingResponseDto getBookingById(Integer userId, Integer bookingId);
 
-    List<BookingResponseDto> getBookingsByUserId(Integer userId, String state);
+    String getBookingETag(Integer userId, Integer bookingId);
+
+    CursorPage<BookingResponseDto> getBookingsByUserId(Integer userId, String state, Integer from, Integer size,
+                                                       String cursor);
+
+    CursorPage<BookingResponseDto> getBookingsByOwnerId(Integer ownerId, String state, Integer from, Integer size,
+                                                        String cursor);
+
+    Consumer<Consumer<BookingResponseDto>> exportBookingsByUserId(Integer userId);
+
+    Consumer<Consumer<BookingResponseDto>> exportBookingsByOwnerId(Integer ownerId);
+
+    BookingStatsDto getBookingStatsByUserId(Integer userId);
 
-    List<BookingResponseDto> getBookingsByOwnerId(Integer ownerId, String state);
+    BookingStatsDto getBookingStatsByOwnerId(Integer ownerId);
 }
@@ -1,29 +1,67 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ValidationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResultDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateDto;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemViewCache;
+import ru.practicum.shareit.page.CursorPage;
+import ru.practicum.shareit.page.PageCursor;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserDeletionJobs;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserResolver;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
+    private final BookingHistoryRepository bookingHistoryRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final UserResolver userResolver;
+    private final UserDeletionJobs userDeletionJobs;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingLocks bookingLocks;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final ItemViewCache itemViewCache;
+    private final Validator validator;
+    private final PlatformTransactionManager transactionManager;
 
     @Override
     public BookingResponseDto createBooking(Integer userId, BookingCreateDto bookingCreateDto) {
@@ -32,6 +70,7 @@ public class BookingServiceImpl implements BookingService {
         }
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException(String.format("User not found: id = %d", userId)));
+        userDeletionJobs.checkNotDeleting(userId);
         Item item = itemRepository.findById(bookingCreateDto.itemId())
                 .orElseThrow(() -> new NotFoundException(String.format("Item not found: id = %d",
                         bookingCreateDto.itemId())));
@@ -41,101 +80,350 @@ public class BookingServiceImpl implements BookingService {
         if (userId.equals(item.getOwner().getId())) {
             throw new ValidationException("Can't booking your item");
         }
-        if (bookingRepository.existsByItemIdAndDateRangeAndStateIn(
-                bookingCreateDto.itemId(),
-                bookingCreateDto.start(),
-                bookingCreateDto.end(),
-                List.of(BookingStatus.APPROVED, BookingStatus.WAITING)
-        )) {
-            throw new ValidationException("Booking time in busy range");
-        }
 
+        // The save commits before the item lock is released, so a concurrent booking of the same item sees it
+        Lock lock = bookingLocks.forItem(item.getId());
+        Booking createBooking;
+        lock.lock();
+        try {
+            if (bookingIntervalIndex.overlaps(
+                    bookingCreateDto.itemId(),
+                    bookingCreateDto.start(),
+                    bookingCreateDto.end()
+            )) {
+                throw new ValidationException("Booking time in busy range");
+            }
 
-        Booking booking = BookingMapper.toBooking(bookingCreateDto, item, user);
-        Booking createBooking = bookingRepository.save(booking);
+            Booking booking = BookingMapper.toBooking(bookingCreateDto, item, user);
+            createBooking = bookingRepository.save(booking);
+            bookingIntervalIndex.put(createBooking);
+        } finally {
+            lock.unlock();
+        }
         log.info("Create booking: {}", createBooking);
 
         return BookingMapper.toBookingResponseDto(createBooking);
     }
 
+    @Override
+    public List<BookingBatchResultDto> createBookings(Integer userId, List<BookingCreateDto> bookingCreateDtos) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException(String.format("User not found: id = %d", userId)));
+        userDeletionJobs.checkNotDeleting(userId);
+        Map<Integer, Item> items = itemRepository.findAllById(bookingCreateDtos.stream()
+                        .filter(Objects::nonNull)
+                        .map(BookingCreateDto::itemId)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        String[] errors = new String[bookingCreateDtos.size()];
+        for (int i = 0; i < errors.length; i++) {
+            errors[i] = validateBatchEntry(userId, bookingCreateDtos.get(i), items);
+        }
+
+        // Checked against the stored bookings and the entries accepted earlier in the same batch
+        Map<Integer, Booking> accepted = new LinkedHashMap<>();
+        List<Lock> locks = bookingLocks.forItems(items.keySet());
+        locks.forEach(Lock::lock);
+        try {
+            Map<Integer, BookingIntervalTree> batchTrees = new HashMap<>();
+            for (int i = 0; i < errors.length; i++) {
+                if (errors[i] != null) continue;
+
+                BookingCreateDto bookingCreateDto = bookingCreateDtos.get(i);
+                Integer itemId = bookingCreateDto.itemId();
+                BookingIntervalTree batchTree = batchTrees.computeIfAbsent(itemId, id -> new BookingIntervalTree());
+                if (bookingIntervalIndex.overlaps(itemId, bookingCreateDto.start(), bookingCreateDto.end())
+                        || batchTree.overlaps(bookingCreateDto.start(), bookingCreateDto.end())) {
+                    errors[i] = "Booking time in busy range";
+                    continue;
+                }
+                batchTree.insert(new BookingIntervalTree.Interval(i, bookingCreateDto.start(),
+                        bookingCreateDto.end()));
+                accepted.put(i, BookingMapper.toBooking(bookingCreateDto, items.get(itemId), user));
+            }
+            bookingRepository.insertAll(accepted.values());
+            accepted.values().forEach(bookingIntervalIndex::put);
+        } finally {
+            locks.forEach(Lock::unlock);
+        }
+        log.info("Create bookings: {} of {} accepted", accepted.size(), errors.length);
+
+        List<BookingBatchResultDto> results = new ArrayList<>(errors.length);
+        for (int i = 0; i < errors.length; i++) {
+            Booking booking = accepted.get(i);
+            results.add(new BookingBatchResultDto(i,
+                    booking == null ? null : BookingMapper.toBookingResponseDto(booking),
+                    errors[i]));
+        }
+        return results;
+    }
+
     @Override
     public BookingResponseDto updateBookingStatus(Integer userId, Integer bookingId, boolean approved) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findWithItemAndBookerByIdIn(List.of(bookingId)).stream()
+                .findFirst()
                 .orElseThrow(() -> new NotFoundException(String.format("Booking not found: id = %d", bookingId)));
         if (!userId.equals(booking.getItem().getOwner().getId())) {
             throw new ForbiddenException("Only owners allowed");
         }
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException(String.format("User not found: id = %d", userId)));
+        userResolver.checkExists(userId);
         if (booking.getStatus() != BookingStatus.WAITING) {
             throw new ValidationException("Booking has already been processed");
         }
 
-        booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        Booking updateBooking = bookingRepository.save(booking);
+        // Guarded like the batch update, so a booking expired or processed since the load is not overwritten
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        if (bookingRepository.updateWaitingStatuses(Map.of(bookingId, status)).isEmpty()) {
+            throw new ValidationException("Booking has already been processed");
+        }
+        Booking updateBooking = BookingMapper.withStatus(booking, status);
+        bookingIntervalIndex.put(updateBooking);
+        if (approved) {
+            itemBookingSummaryService.refresh(List.of(updateBooking.getItem().getId()));
+        }
+        itemViewCache.invalidate(updateBooking.getItem().getId());
         log.info("Update booking status: {}", updateBooking);
 
         return BookingMapper.toBookingResponseDto(updateBooking);
     }
 
+    @Override
+    public List<BookingStatusResultDto> updateBookingStatuses(Integer userId, List<BookingStatusUpdateDto> updates) {
+        userResolver.checkExists(userId);
+        Map<Integer, Booking> bookings = bookingRepository.findWithItemAndBookerByIdIn(updates.stream()
+                        .map(BookingStatusUpdateDto::bookingId)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        String[] errors = new String[updates.size()];
+        Map<Integer, BookingStatus> statuses = new LinkedHashMap<>();
+        for (int i = 0; i < errors.length; i++) {
+            BookingStatusUpdateDto update = updates.get(i);
+            Booking booking = bookings.get(update.bookingId());
+            if (booking == null) {
+                errors[i] = String.format("Booking not found: id = %d", update.bookingId());
+            } else if (!userId.equals(booking.getItem().getOwner().getId())) {
+                errors[i] = "Only owners allowed";
+            } else if (booking.getStatus() != BookingStatus.WAITING || statuses.containsKey(booking.getId())) {
+                errors[i] = "Booking has already been processed";
+            } else {
+                statuses.put(booking.getId(), update.approved() ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+            }
+        }
+
+        Set<Integer> updated = bookingRepository.updateWaitingStatuses(statuses);
+        List<BookingStatusResultDto> results = new ArrayList<>(errors.length);
+        Set<Integer> itemIds = new HashSet<>();
+        Set<Integer> approvedItemIds = new HashSet<>();
+        for (int i = 0; i < errors.length; i++) {
+            Integer bookingId = updates.get(i).bookingId();
+            if (errors[i] == null && !updated.contains(bookingId)) {
+                errors[i] = "Booking has already been processed";
+            }
+            if (errors[i] != null) {
+                results.add(new BookingStatusResultDto(bookingId, null, errors[i]));
+                continue;
+            }
+            Booking booking = BookingMapper.withStatus(bookings.get(bookingId), statuses.get(bookingId));
+            bookingIntervalIndex.put(booking);
+            itemIds.add(booking.getItem().getId());
+            if (booking.getStatus() == BookingStatus.APPROVED) {
+                approvedItemIds.add(booking.getItem().getId());
+            }
+            results.add(new BookingStatusResultDto(bookingId, BookingMapper.toBookingResponseDto(booking), null));
+        }
+        if (!approvedItemIds.isEmpty()) {
+            itemBookingSummaryService.refresh(approvedItemIds);
+        }
+        itemViewCache.invalidateAll(itemIds);
+        log.info("Update booking statuses: {} of {} updated", updated.size(), errors.length);
+
+        return results;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public BookingResponseDto getBookingById(Integer userId, Integer bookingId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        BookingHistory booking = bookingHistoryRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException(String.format("Booking not found: id = %d", bookingId)));
-        if (userId.equals(booking.getBooker().getId()) &&
-                userId.equals(booking.getItem().getOwner().getId())) {
-            throw new ForbiddenException("Only owners allowed");
-        }
+        checkBookingAccess(userId, booking.getBooker().getId(), booking.getItem().getOwner().getId());
         return BookingMapper.toBookingResponseDto(booking);
     }
 
+    /**
+     * Builds the entity tag of the booking view from the versions of the booking, its item and its booker,
+     * so a matching {@code If-None-Match} is answered without loading the booking.
+     */
     @Override
     @Transactional(readOnly = true)
-    public List<BookingResponseDto> getBookingsByUserId(Integer userId, String state) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException(String.format("User not found: id = %d", userId)));
+    public String getBookingETag(Integer userId, Integer bookingId) {
+        BookingStamp stamp = bookingHistoryRepository.findStampById(bookingId)
+                .orElseThrow(() -> new NotFoundException(String.format("Booking not found: id = %d", bookingId)));
+        checkBookingAccess(userId, stamp.bookerId(), stamp.ownerId());
+        return String.format("booking-%d-%d-%d-%d", bookingId, stamp.version(), stamp.itemVersion(),
+                stamp.bookerVersion());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookingResponseDto> getBookingsByUserId(Integer userId, String state, Integer from,
+                                                              Integer size, String cursor) {
+        userResolver.checkExists(userId);
 
         LocalDateTime now = LocalDateTime.now();
         BookingState bookingState = BookingState.parseOf(state);
+        ScrollPosition position = getScrollPosition(from, cursor);
+        Limit limit = Limit.of(size);
 
-        List<Booking> bookings = switch (bookingState) {
-            case ALL -> bookingRepository.findByBookerIdOrderByStartDesc(userId);
-            case CURRENT -> bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(userId, now, now);
-            case PAST -> bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(userId, now);
-            case FUTURE -> bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(userId, now);
-            case WAITING -> bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.WAITING);
-            case REJECTED -> bookingRepository.findByBookerIdAndStatusOrderByStartDesc(userId, BookingStatus.REJECTED);
+        // ALL, PAST and REJECTED include archived bookings, the other states only ever match live ones
+        Window<BookingResponseDto> bookings = switch (bookingState) {
+            case ALL -> bookingHistoryRepository.findByBookerIdOrderByStartDescIdDesc(userId, position, limit)
+                    .map(BookingMapper::toBookingResponseDto);
+            case CURRENT -> bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(userId,
+                    now, now, position, limit).map(BookingMapper::toBookingResponseDto);
+            case PAST -> bookingHistoryRepository.findByBookerIdAndEndBeforeOrderByStartDescIdDesc(userId, now,
+                    position, limit).map(BookingMapper::toBookingResponseDto);
+            case FUTURE -> bookingRepository.findByBookerIdAndStartAfterOrderByStartDescIdDesc(userId, now, position,
+                    limit).map(BookingMapper::toBookingResponseDto);
+            case WAITING -> bookingRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(userId,
+                    BookingStatus.WAITING, position, limit).map(BookingMapper::toBookingResponseDto);
+            case REJECTED -> bookingHistoryRepository.findByBookerIdAndStatusOrderByStartDescIdDesc(userId,
+                    BookingStatus.REJECTED, position, limit).map(BookingMapper::toBookingResponseDto);
         };
 
-        return bookings.stream()
-                .map(BookingMapper::toBookingResponseDto)
-                .toList();
+        return toCursorPage(bookings);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingResponseDto> getBookingsByOwnerId(Integer ownerId, String state) {
-        User user = userRepository.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException(String.format("User not found: id = %d", ownerId)));
+    public CursorPage<BookingResponseDto> getBookingsByOwnerId(Integer ownerId, String state, Integer from,
+                                                               Integer size, String cursor) {
+        userResolver.checkExists(ownerId);
 
         LocalDateTime now = LocalDateTime.now();
         BookingState bookingState = BookingState.parseOf(state);
+        ScrollPosition position = getScrollPosition(from, cursor);
+        Limit limit = Limit.of(size);
 
-        List<Booking> bookings = switch (bookingState) {
-            case ALL -> bookingRepository.findByItemOwnerIdOrderByStartDesc(ownerId);
-            case CURRENT -> bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(ownerId, now,
-                    now);
-            case PAST -> bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDesc(ownerId, now);
-            case FUTURE -> bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDesc(ownerId, now);
-            case WAITING -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(ownerId,
-                    BookingStatus.WAITING);
-            case REJECTED -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(ownerId,
-                    BookingStatus.REJECTED);
+        Window<BookingResponseDto> bookings = switch (bookingState) {
+            case ALL -> bookingHistoryRepository.findByItemOwnerIdOrderByStartDescIdDesc(ownerId, position, limit)
+                    .map(BookingMapper::toBookingResponseDto);
+            case CURRENT -> bookingRepository.findByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDescIdDesc(
+                    ownerId, now, now, position, limit).map(BookingMapper::toBookingResponseDto);
+            case PAST -> bookingHistoryRepository.findByItemOwnerIdAndEndBeforeOrderByStartDescIdDesc(ownerId, now,
+                    position, limit).map(BookingMapper::toBookingResponseDto);
+            case FUTURE -> bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDescIdDesc(ownerId, now,
+                    position, limit).map(BookingMapper::toBookingResponseDto);
+            case WAITING -> bookingRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(ownerId,
+                    BookingStatus.WAITING, position, limit).map(BookingMapper::toBookingResponseDto);
+            case REJECTED -> bookingHistoryRepository.findByItemOwnerIdAndStatusOrderByStartDescIdDesc(ownerId,
+                    BookingStatus.REJECTED, position, limit).map(BookingMapper::toBookingResponseDto);
         };
 
-        return bookings.stream()
-                .map(BookingMapper::toBookingResponseDto)
-                .toList();
+        return toCursorPage(bookings);
+    }
+
+    /**
+     * Checks the booker right away and returns the export to run later, typically while the response is written:
+     * it passes all bookings of the booker, archived ones included, to the action in listing order, reading them
+     * through a database cursor in its own read-only transaction.
+     */
+    @Override
+    public Consumer<Consumer<BookingResponseDto>> exportBookingsByUserId(Integer userId) {
+        userResolver.checkExists(userId);
+        return action -> export(() -> bookingHistoryRepository.streamByBookerId(userId), action);
+    }
+
+    @Override
+    public Consumer<Consumer<BookingResponseDto>> exportBookingsByOwnerId(Integer ownerId) {
+        userResolver.checkExists(ownerId);
+        return action -> export(() -> bookingHistoryRepository.streamByItemOwnerId(ownerId), action);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingStatsDto getBookingStatsByUserId(Integer userId) {
+        userResolver.checkExists(userId);
+        return bookingHistoryRepository.getStatsByBookerId(userId, LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookingStatsDto getBookingStatsByOwnerId(Integer ownerId) {
+        userResolver.checkExists(ownerId);
+        return bookingHistoryRepository.getStatsByOwnerId(ownerId, LocalDateTime.now());
+    }
+
+    // Additional methods
+
+    private void export(Supplier<Stream<BookingExportRow>> query, Consumer<BookingResponseDto> action) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            try (Stream<BookingExportRow> rows = query.get()) {
+                rows.map(BookingMapper::toBookingResponseDto).forEach(action);
+            }
+        });
+    }
+
+    private static void checkBookingAccess(Integer userId, Integer bookerId, Integer ownerId) {
+        if (userId.equals(bookerId) && userId.equals(ownerId)) {
+            throw new ForbiddenException("Only owners allowed");
+        }
+    }
+
+    private String validateBatchEntry(Integer userId, BookingCreateDto bookingCreateDto, Map<Integer, Item> items) {
+        if (bookingCreateDto == null) {
+            return "Booking must not be null";
+        }
+        Set<ConstraintViolation<BookingCreateDto>> violations = validator.validate(bookingCreateDto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> String.format("field = %s, message = %s", v.getPropertyPath(), v.getMessage()))
+                    .sorted()
+                    .collect(Collectors.joining("; ", "Validation failed: ", ""));
+        }
+        if (bookingCreateDto.start().isAfter(bookingCreateDto.end())) {
+            return "The start date must be before the end date.";
+        }
+        Item item = items.get(bookingCreateDto.itemId());
+        if (item == null) {
+            return String.format("Item not found: id = %d", bookingCreateDto.itemId());
+        }
+        if (!item.isAvailable()) {
+            return "Item not available for booking";
+        }
+        if (userId.equals(item.getOwner().getId())) {
+            return "Can't booking your item";
+        }
+        return null;
+    }
+
+    /**
+     * A cursor continues after the (start, id) key of the last returned booking, otherwise {@code from} rows are
+     * skipped.
+     */
+    private static ScrollPosition getScrollPosition(Integer from, String cursor) {
+        if (cursor != null) {
+            PageCursor pageCursor = PageCursor.decode(cursor, 2);
+            return ScrollPosition.forward(Map.of(
+                    "start", pageCursor.dateTimeKey(0),
+                    "id", pageCursor.intKey(1)));
+        }
+        return from == 0 ? ScrollPosition.offset() : ScrollPosition.offset(from - 1);
+    }
+
+    private static CursorPage<BookingResponseDto> toCursorPage(Window<BookingResponseDto> bookings) {
+        String nextCursor = null;
+        if (bookings.hasNext() && !bookings.isEmpty()) {
+            BookingResponseDto last = bookings.getContent().getLast();
+            nextCursor = PageCursor.of(last.start(), last.id()).encode();
+        }
+        return new CursorPage<>(bookings.getContent(), nextCursor);
     }
 }
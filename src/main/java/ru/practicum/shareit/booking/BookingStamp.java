@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking;
+
+/**
+ * What a booking response depends on, read without loading the booking: the versions of the booking, its item
+ * and its booker.
+ */
+public record BookingStamp(Integer bookerId, Integer ownerId, Integer version, Integer itemVersion,
+                           Integer bookerVersion) {
+}
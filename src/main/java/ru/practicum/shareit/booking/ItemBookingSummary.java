@@ -0,0 +1,59 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last finished and next upcoming APPROVED booking of an item. The row is valid until {@code refreshAt},
+ * the next moment one of the two can change; a {@code null} {@code refreshAt} means no change is pending.
+ */
+@Entity
+@Table(name = "item_booking_summary")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemBookingSummary {
+    @Id
+    @Column(name = "item_id")
+    private Integer itemId;
+
+    @Column(name = "last_booking_id")
+    private Integer lastBookingId;
+
+    @Column(name = "last_start_date")
+    private LocalDateTime lastStart;
+
+    @Column(name = "last_end_date")
+    private LocalDateTime lastEnd;
+
+    @Column(name = "next_booking_id")
+    private Integer nextBookingId;
+
+    @Column(name = "next_start_date")
+    private LocalDateTime nextStart;
+
+    @Column(name = "next_end_date")
+    private LocalDateTime nextEnd;
+
+    @Column(name = "refresh_at")
+    private LocalDateTime refreshAt;
+
+    @Version
+    private Integer version;
+
+    public ItemBookingSummary(Integer itemId) {
+        this.itemId = itemId;
+    }
+
+    public boolean isStale(LocalDateTime now) {
+        return refreshAt != null && !refreshAt.isAfter(now);
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface ItemBookingSummaryBatchRepository {
+
+    /**
+     * Writes the recomputed summaries as one JDBC batch, each only if its row still has the version it was read
+     * with, and returns the item ids that were surely updated: an entry the driver reports without its count is left
+     * out. Takes no lock before the write.
+     */
+    Set<Integer> updateUnchanged(Collection<ItemBookingSummary> summaries);
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class ItemBookingSummaryBatchRepositoryImpl implements ItemBookingSummaryBatchRepository {
+    private static final String UPDATE_UNCHANGED_SQL = """
+            UPDATE item_booking_summary
+            SET last_booking_id = :lastBookingId, last_start_date = :lastStart, last_end_date = :lastEnd,
+                next_booking_id = :nextBookingId, next_start_date = :nextStart, next_end_date = :nextEnd,
+                refresh_at = :refreshAt, version = version + 1
+            WHERE item_id = :itemId AND version = :version
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public Set<Integer> updateUnchanged(Collection<ItemBookingSummary> summaries) {
+        if (summaries.isEmpty()) return Set.of();
+
+        List<ItemBookingSummary> rows = List.copyOf(summaries);
+        SqlParameterSource[] batchArgs = rows.stream()
+                .map(summary -> new MapSqlParameterSource()
+                        .addValue("itemId", summary.getItemId())
+                        .addValue("version", summary.getVersion())
+                        .addValue("lastBookingId", summary.getLastBookingId())
+                        .addValue("lastStart", summary.getLastStart())
+                        .addValue("lastEnd", summary.getLastEnd())
+                        .addValue("nextBookingId", summary.getNextBookingId())
+                        .addValue("nextStart", summary.getNextStart())
+                        .addValue("nextEnd", summary.getNextEnd())
+                        .addValue("refreshAt", summary.getRefreshAt()))
+                .toArray(SqlParameterSource[]::new);
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_UNCHANGED_SQL, batchArgs);
+
+        Set<Integer> updated = new HashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            // SUCCESS_NO_INFO leaves the outcome unknown, so such a row counts as changed and is re-read
+            if (counts[i] > 0) updated.add(rows.get(i).getItemId());
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Integer>,
+        ItemBookingSummaryBatchRepository {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<ItemBookingSummary> findByItemIdInOrderByItemId(Collection<Integer> itemIds);
+}
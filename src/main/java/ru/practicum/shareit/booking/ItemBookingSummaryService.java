@@ -0,0 +1,138 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps {@link ItemBookingSummary} rows current: a row is recomputed when a booking of its item is approved and
+ * lazily on read, once time has passed its {@code refreshAt} boundary. Only the approval path locks the rows.
+ */
+@Service
+@RequiredArgsConstructor
+public class ItemBookingSummaryService {
+    private final ItemBookingSummaryRepository itemBookingSummaryRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingHistoryRepository bookingHistoryRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Creates the empty summary of a new item.
+     */
+    @Transactional
+    public void create(Integer itemId) {
+        itemBookingSummaryRepository.save(new ItemBookingSummary(itemId));
+    }
+
+    /**
+     * Returns the summaries of the items, recomputing the stale ones. Reads in a read-only transaction and takes no
+     * row lock: a recomputed row is written only if no refresh changed it meanwhile, otherwise the row written by
+     * that refresh is returned. The loaded rows are never modified, so the open session has nothing to flush.
+     */
+    @Transactional(readOnly = true)
+    public Map<Integer, ItemBookingSummary> getSummaries(Collection<Integer> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, ItemBookingSummary> summaries = itemBookingSummaryRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+        List<ItemBookingSummary> stale = new ArrayList<>();
+        for (Integer itemId : itemIds) {
+            ItemBookingSummary summary = summaries.get(itemId);
+            if (summary != null && !summary.isStale(now)) continue;
+
+            ItemBookingSummary recomputed = new ItemBookingSummary(itemId);
+            recomputed.setVersion(summary == null ? null : summary.getVersion());
+            compute(recomputed, now);
+            summaries.put(itemId, recomputed);
+            if (recomputed.getVersion() != null) stale.add(recomputed);
+        }
+        if (!stale.isEmpty()) summaries.putAll(writeUnchanged(stale));
+        return summaries;
+    }
+
+    /**
+     * Recomputes the summaries of the items. The rows are locked in item order first, so an approval and a lazy
+     * refresh of the same item run one after the other and the later one sees the committed booking.
+     */
+    @Transactional
+    public List<ItemBookingSummary> refresh(Collection<Integer> itemIds) {
+        Map<Integer, ItemBookingSummary> summaries = itemBookingSummaryRepository.findByItemIdInOrderByItemId(itemIds)
+                .stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+
+        List<ItemBookingSummary> refreshed = new ArrayList<>();
+        for (Integer itemId : new TreeSet<>(itemIds)) {
+            ItemBookingSummary summary = summaries.getOrDefault(itemId, new ItemBookingSummary(itemId));
+            compute(summary, now);
+            refreshed.add(itemBookingSummaryRepository.save(summary));
+        }
+        return refreshed;
+    }
+
+    // Additional methods
+
+    /**
+     * Writes the recomputed rows in a transaction of its own and returns them as stored. The new transaction also
+     * brings its own persistence context, so a row re-read after a lost write is not served from the read-only one.
+     */
+    private Map<Integer, ItemBookingSummary> writeUnchanged(List<ItemBookingSummary> stale) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transaction.execute(status -> {
+            Set<Integer> updated = itemBookingSummaryRepository.updateUnchanged(stale);
+            Map<Integer, ItemBookingSummary> written = new HashMap<>();
+            List<Integer> changedIds = new ArrayList<>();
+            for (ItemBookingSummary summary : stale) {
+                if (updated.contains(summary.getItemId())) {
+                    summary.setVersion(summary.getVersion() + 1);
+                    written.put(summary.getItemId(), summary);
+                } else {
+                    changedIds.add(summary.getItemId());
+                }
+            }
+            if (!changedIds.isEmpty()) {
+                itemBookingSummaryRepository.findAllById(changedIds)
+                        .forEach(summary -> written.put(summary.getItemId(), summary));
+            }
+            return written;
+        });
+    }
+
+    private void compute(ItemBookingSummary summary, LocalDateTime now) {
+        Integer itemId = summary.getItemId();
+        BookingHistory last = bookingHistoryRepository.findFirstByItemIdAndStatusAndEndBeforeOrderByEndDesc(itemId,
+                BookingStatus.APPROVED, now).orElse(null);
+        Booking next = bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(itemId,
+                BookingStatus.APPROVED, now).orElse(null);
+        // The first booking still to end becomes the last one when it does
+        Booking ending = bookingRepository.findFirstByItemIdAndStatusAndEndGreaterThanEqualOrderByEndAsc(itemId,
+                BookingStatus.APPROVED, now).orElse(null);
+
+        summary.setLastBookingId(last == null ? null : last.getId());
+        summary.setLastStart(last == null ? null : last.getStart());
+        summary.setLastEnd(last == null ? null : last.getEnd());
+        summary.setNextBookingId(next == null ? null : next.getId());
+        summary.setNextStart(next == null ? null : next.getStart());
+        summary.setNextEnd(next == null ? null : next.getEnd());
+        summary.setRefreshAt(Stream.of(next == null ? null : next.getStart(), ending == null ? null : ending.getEnd())
+                .filter(Objects::nonNull)
+                .min(LocalDateTime::compareTo)
+                .orElse(null));
+    }
+}
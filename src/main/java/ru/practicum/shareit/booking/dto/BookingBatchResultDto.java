@@ -0,0 +1,8 @@
+package ru.practicum.shareit.booking.dto;
+
+public record BookingBatchResultDto(
+        Integer index,
+        BookingResponseDto booking,
+        String error
+) {
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.dto;
+
+public record BookingStatsDto(
+        Long all,
+        Long current,
+        Long past,
+        Long future,
+        Long waiting,
+        Long rejected
+) {
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.booking.dto;
+
+public record BookingStatusResultDto(
+        Integer bookingId,
+        BookingResponseDto booking,
+        String error
+) {
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record BookingStatusUpdateDto(
+        @NotNull @Min(1)
+        Integer bookingId,
+        @NotNull
+        Boolean approved
+) {
+}
@@ -0,0 +1,192 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Bounded in-process cache: least recently used entries are evicted past {@code maxSize}, every entry expires
+ * after {@code ttl} or earlier when put with its own expiry.
+ * <p>
+ * Keys are spread over segments, each an LRU map with its own lock, so threads touching different segments do not
+ * contend; eviction is least recently used within a segment, an approximation of the global order. Small caches
+ * get a single segment and an exact order.
+ * <p>
+ * A value loaded while an invalidation was running must not outlive it: callers take {@link #generation()} before
+ * loading and pass it to {@code put}, which drops the value if its key was invalidated since. Invalidated keys keep
+ * their stamp in a log bounded by {@code maxSize}; a stamp pushed out of the log raises a floor below which every
+ * put is dropped, so a long-running load may be dropped needlessly but never cached stale.
+ * Publishes {@code shareit.cache.gets} (tagged hit/miss), {@code shareit.cache.evictions} and
+ * {@code shareit.cache.size}, all tagged with the cache name.
+ */
+public class LruCache<K, V> {
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_SIZE = 64;
+
+    private final Duration ttl;
+    private final Clock clock;
+    private final List<Segment> segments;
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public LruCache(String name, int maxSize, Duration ttl, MeterRegistry meterRegistry) {
+        this(name, maxSize, ttl, meterRegistry, Clock.systemDefaultZone());
+    }
+
+    public LruCache(String name, int maxSize, Duration ttl, MeterRegistry meterRegistry, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+        int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, maxSize / MIN_SEGMENT_SIZE)));
+        int segmentSize = (maxSize + segmentCount - 1) / segmentCount;
+        this.segments = IntStream.range(0, segmentCount)
+                .mapToObj(i -> new Segment(segmentSize))
+                .toList();
+        this.hits = Counter.builder("shareit.cache.gets")
+                .tags("cache", name, "result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("shareit.cache.gets")
+                .tags("cache", name, "result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("shareit.cache.evictions")
+                .tag("cache", name)
+                .register(meterRegistry);
+        Gauge.builder("shareit.cache.size", this, LruCache::size)
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached value or {@code null}, counting a hit or a miss.
+     */
+    public V get(K key) {
+        V value = peek(key);
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Returns the cached value or {@code null} without counting it in the metrics.
+     */
+    public V peek(K key) {
+        return segment(key).peek(key, LocalDateTime.now(clock));
+    }
+
+    /**
+     * Returns the stamp of the latest invalidation, to be passed to {@code put} as {@code loadedAt}.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(K key, V value, long loadedAt) {
+        put(key, value, null, loadedAt);
+    }
+
+    /**
+     * Caches the value until {@code expiresAt} or the TTL, whichever comes first, unless the key was invalidated
+     * after generation {@code loadedAt}.
+     */
+    public void put(K key, V value, LocalDateTime expiresAt, long loadedAt) {
+        LocalDateTime ttlExpiresAt = LocalDateTime.now(clock).plus(ttl);
+        if (expiresAt == null || expiresAt.isAfter(ttlExpiresAt)) {
+            expiresAt = ttlExpiresAt;
+        }
+        segment(key).put(key, new Entry<>(value, expiresAt), loadedAt);
+    }
+
+    public void invalidate(K key) {
+        segment(key).invalidate(key);
+    }
+
+    public void invalidateAll() {
+        long stamp = generation.incrementAndGet();
+        segments.forEach(segment -> segment.clear(stamp));
+    }
+
+    public int size() {
+        return segments.stream().mapToInt(Segment::size).sum();
+    }
+
+    // Additional methods
+
+    private Segment segment(K key) {
+        int hash = key.hashCode();
+        return segments.get((hash ^ (hash >>> 16)) & (segments.size() - 1));
+    }
+
+    private record Entry<V>(V value, LocalDateTime expiresAt) {
+    }
+
+    private class Segment {
+        private final Map<K, Entry<V>> entries;
+        private final Map<K, Long> invalidations;
+        private long floor;
+
+        Segment(int maxSize) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    boolean evict = size() > maxSize;
+                    if (evict) evictions.increment();
+                    return evict;
+                }
+            };
+            this.invalidations = new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Long> eldest) {
+                    boolean prune = size() > maxSize;
+                    if (prune) floor = Math.max(floor, eldest.getValue());
+                    return prune;
+                }
+            };
+        }
+
+        synchronized V peek(K key, LocalDateTime now) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) return null;
+
+            if (!entry.expiresAt().isAfter(now)) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+
+        synchronized void put(K key, Entry<V> entry, long loadedAt) {
+            if (loadedAt < floor || invalidations.getOrDefault(key, floor) > loadedAt) return;
+
+            entries.put(key, entry);
+        }
+
+        synchronized void invalidate(K key) {
+            entries.remove(key);
+            invalidations.remove(key);
+            invalidations.put(key, generation.incrementAndGet());
+        }
+
+        synchronized void clear(long stamp) {
+            entries.clear();
+            invalidations.clear();
+            floor = Math.max(floor, stamp);
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
@@ -6,6 +6,9 @@ public final class CommentConstants {
     public static final int TEXT_MIN_LENGTH = 4;
     public static final int TEXT_MAX_LENGTH = 1024;
 
+    // Latest comments shown with each item of a listing
+    public static final int PREVIEW_SIZE = 3;
+
     private CommentConstants() {
     }
 }
@@ -22,6 +22,15 @@ public final class CommentMapper {
         );
     }
 
+    public static CommentResponseDto toCommentResponseDto(CommentView comment) {
+        return new CommentResponseDto(
+                comment.getId(),
+                comment.getText(),
+                comment.getAuthorName(),
+                comment.getCreated()
+        );
+    }
+
     public static CommentResponseDto toCommentResponseDto(Comment comment) {
         return new CommentResponseDto(
                 comment.getId(),
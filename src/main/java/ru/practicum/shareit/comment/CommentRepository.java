@@ -1,12 +1,38 @@
 package ru.practicum.shareit.comment;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
 
-    List<Comment> findByItemId(Integer itemId);
+    @EntityGraph(attributePaths = "author")
+    Window<Comment> findByItemIdOrderByCreatedAscIdAsc(Integer itemId, ScrollPosition position, Limit limit);
 
-    List<Comment> findByItemIdIn(List<Integer> itemIds);
+    /**
+     * Returns the latest {@code limit} comments of each item, oldest first within an item, in one windowed query.
+     */
+    @Query(value = """
+            SELECT c.id AS id, c.item_id AS itemId, c.text AS text, u.name AS authorName, c.created AS created
+            FROM (
+                SELECT id, item_id, author_id, text, created,
+                       ROW_NUMBER() OVER (PARTITION BY item_id ORDER BY created DESC, id DESC) AS comment_rank
+                FROM comments
+                WHERE item_id IN (:itemIds)
+            ) c
+            JOIN users u ON u.id = c.author_id
+            WHERE c.comment_rank <= :limit
+            ORDER BY c.item_id, c.created, c.id
+            """, nativeQuery = true)
+    List<CommentView> findLatestByItemIdIn(@Param("itemIds") Collection<Integer> itemIds, @Param("limit") int limit);
+
+    @Query("SELECT DISTINCT c.item.id FROM Comment c WHERE c.author.id = :authorId")
+    List<Integer> findItemIdsByAuthorId(@Param("authorId") Integer authorId);
 }
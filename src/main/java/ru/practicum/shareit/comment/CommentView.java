@@ -0,0 +1,19 @@
+package ru.practicum.shareit.comment;
+
+import java.time.LocalDateTime;
+
+/**
+ * Comment row joined with its author's name, read by native queries without loading the entities.
+ */
+public interface CommentView {
+
+    Integer getId();
+
+    Integer getItemId();
+
+    String getText();
+
+    String getAuthorName();
+
+    LocalDateTime getCreated();
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.exception;
 
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -26,6 +27,13 @@ public class ExceptionHandlers {
         return new ExceptionResponse("Conflict", e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ExceptionResponse handleOptimisticLockingFailure(final OptimisticLockingFailureException e) {
+        log.warn("Exception: Conflict", e);
+        return new ExceptionResponse("Conflict", "The resource was changed concurrently, retry the request");
+    }
+
     @ExceptionHandler()
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ExceptionResponse handleNotValid(final ValidException e) {
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item;
+
+import java.util.Collection;
+
+public interface ItemBatchRepository {
+
+    /**
+     * Inserts the new items and their empty booking summaries as JDBC batches in one transaction and sets the
+     * generated item ids.
+     */
+    void insertAll(Collection<Item> items);
+}
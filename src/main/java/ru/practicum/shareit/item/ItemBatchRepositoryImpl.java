@@ -0,0 +1,58 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Plain JDBC batches: the IDENTITY ids of {@link Item} stop Hibernate from batching inserts.
+ */
+@RequiredArgsConstructor
+public class ItemBatchRepositoryImpl implements ItemBatchRepository {
+    private static final String INSERT_SQL = """
+            INSERT INTO items (name, description, is_available, owner_id)
+            VALUES (:name, :description, :available, :ownerId)
+            """;
+
+    private static final String INSERT_SUMMARY_SQL = """
+            INSERT INTO item_booking_summary (item_id)
+            VALUES (:itemId)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void insertAll(Collection<Item> items) {
+        if (items.isEmpty()) return;
+
+        SqlParameterSource[] batchArgs = items.stream()
+                .map(item -> new MapSqlParameterSource()
+                        .addValue("name", item.getName())
+                        .addValue("description", item.getDescription())
+                        .addValue("available", item.isAvailable())
+                        .addValue("ownerId", item.getOwner().getId()))
+                .toArray(SqlParameterSource[]::new);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs, keyHolder, new String[]{"id"});
+
+        Iterator<Item> iterator = items.iterator();
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            Item item = iterator.next();
+            item.setId(((Number) keys.values().iterator().next()).intValue());
+            item.setVersion(0);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SUMMARY_SQL, items.stream()
+                .map(item -> new MapSqlParameterSource("itemId", item.getId()))
+                .toArray(SqlParameterSource[]::new));
+    }
+}
@@ -8,6 +8,13 @@ public final class ItemConstants {
     public static final int DESCRIPTION_MIN_LENGTH = 4;
     public static final int DESCRIPTION_MAX_LENGTH = 1024;
 
+    // Typeahead
+    public static final String SUGGEST_LIMIT_DEFAULT = "10";
+    public static final int SUGGEST_LIMIT_MAX = 50;
+
+    // Search by free dates: hits ranked per chunk, as a multiple of the page size
+    public static final int SEARCH_CHUNK_FACTOR = 4;
+
     private ItemConstants() {
     }
 }
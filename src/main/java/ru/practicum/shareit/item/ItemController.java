@@ -1,19 +1,30 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
 import ru.practicum.shareit.comment.dto.CommentCreateDto;
 import ru.practicum.shareit.comment.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemShortResponseDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.page.CursorPage;
+import ru.practicum.shareit.page.PageResponses;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static ru.practicum.shareit.ShareItConstants.PAGE_SIZE_DEFAULT;
+import static ru.practicum.shareit.ShareItConstants.PAGE_SIZE_MAX;
 import static ru.practicum.shareit.ShareItConstants.REQ_HEAD_USER_ID;
 
 @Validated
@@ -24,25 +35,53 @@ public class ItemController {
     private final ItemService itemService;
 
     @GetMapping
-    public List<ItemResponseDto> getItemsByUserId(
-            @RequestHeader(REQ_HEAD_USER_ID) @Min(1) Integer userId) {
-        return itemService.getItemsByUserId(userId);
+    public ResponseEntity<List<ItemResponseDto>> getItemsByUserId(
+            @RequestHeader(REQ_HEAD_USER_ID) @Min(1) Integer userId,
+            @RequestParam(defaultValue = "0") @Min(0) Integer from,
+            @RequestParam(defaultValue = PAGE_SIZE_DEFAULT) @Min(1) @Max(PAGE_SIZE_MAX) Integer size,
+            @RequestParam(required = false) String cursor) {
+        return PageResponses.ok(itemService.getItemsByUserId(userId, from, size, cursor));
     }
 
     @GetMapping("/search")
-    public List<ItemResponseDto> getItemsByText(
+    public ResponseEntity<List<ItemResponseDto>> getItemsByText(
+            @RequestHeader(REQ_HEAD_USER_ID) @Min(1) Integer userId,
+            @RequestParam(defaultValue = "") String text,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = PAGE_SIZE_DEFAULT) @Min(1) @Max(PAGE_SIZE_MAX) Integer limit) {
+        CursorPage<ItemResponseDto> page = itemService.getItemsByText(userId, text, start, end, cursor, limit);
+        return PageResponses.ok(page);
+    }
+
+    @GetMapping("/search/suggest")
+    public List<ItemShortResponseDto> getItemSuggestions(
             @RequestHeader(REQ_HEAD_USER_ID) @Min(1) Integer userId,
-            @RequestParam(defaultValue = "") String text) {
-        return itemService.getItemsByText(userId, text);
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = ItemConstants.SUGGEST_LIMIT_DEFAULT) @Min(1)
+            @Max(ItemConstants.SUGGEST_LIMIT_MAX) Integer limit) {
+        return itemService.getItemSuggestions(userId, prefix, limit);
     }
 
     @GetMapping("/{itemId}")
     public ItemResponseDto getItemById(
             @RequestHeader(REQ_HEAD_USER_ID) @Min(1) Integer userId,
-            @PathVariable @Min(1) Integer itemId) {
+            @PathVariable @Min(1) Integer itemId,
+            WebRequest request) {
+        if (request.checkNotModified(itemService.getItemETag(userId, itemId))) return null;
         return itemService.getItemById(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public List<TimeSlotDto> getItemAvailability(
+            @RequestHeader(REQ_HEAD_USER_ID) @Min(1) Integer userId,
+            @PathVariable @Min(1) Integer itemId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getItemAvailability(userId, itemId, from, to);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ItemResponseDto createItem(
@@ -64,6 +103,15 @@ public class ItemController {
         return itemService.updateItem(userId, itemUpdateDto);
     }
 
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentResponseDto>> getComments(
+            @RequestHeader(REQ_HEAD_USER_ID) @Min(1) Integer userId,
+            @PathVariable @Min(1) Integer itemId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = PAGE_SIZE_DEFAULT) @Min(1) @Max(PAGE_SIZE_MAX) Integer size) {
+        return PageResponses.ok(itemService.getComments(userId, itemId, cursor, size));
+    }
+
     @PostMapping("/{itemId}/comment")
     @ResponseStatus(HttpStatus.CREATED)
     public CommentResponseDto createComment(
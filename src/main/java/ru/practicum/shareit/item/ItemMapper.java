@@ -2,10 +2,9 @@ package ru.practicum.shareit.item;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
-import ru.practicum.shareit.comment.Comment;
-import ru.practicum.shareit.comment.CommentMapper;
+import ru.practicum.shareit.booking.ItemBookingSummary;
+import ru.practicum.shareit.comment.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.dto.ItemShortResponseDto;
@@ -24,17 +23,18 @@ public final class ItemMapper {
         );
     }
 
-    public static ItemResponseDto toItemResponseDto(Item item, Booking lastBooking, Booking nextBooking,
-                                                    List<Comment> comments) {
+    public static ItemResponseDto toItemResponseDto(Item item, ItemBookingSummary bookingSummary,
+                                                    List<CommentResponseDto> comments) {
         return new ItemResponseDto(
                 item.getId(),
                 item.getName(),
                 item.getDescription(),
                 item.isAvailable(),
                 item.getOwner().getId(),
-                BookingMapper.toBookingShortResponseDto(lastBooking),
-                BookingMapper.toBookingShortResponseDto(nextBooking),
-                comments.stream().map(CommentMapper::toCommentResponseDto).toList()
+                BookingMapper.toLastBookingShortResponseDto(bookingSummary),
+                BookingMapper.toNextBookingShortResponseDto(bookingSummary),
+                item.getCommentCount(),
+                comments
         );
     }
 
@@ -45,7 +45,9 @@ public final class ItemMapper {
                 itemCreateDto.name(),
                 itemCreateDto.description(),
                 itemCreateDto.available(),
-                owner
+                owner,
+                0,
+                null
         );
     }
 
@@ -55,7 +57,9 @@ public final class ItemMapper {
                 itemUpdateDto.name() != null ? itemUpdateDto.name() : item.getName(),
                 itemUpdateDto.description() != null ? itemUpdateDto.description() : item.getDescription(),
                 itemUpdateDto.available() != null ? itemUpdateDto.available() : item.isAvailable(),
-                item.getOwner()
+                item.getOwner(),
+                item.getCommentCount(),
+                item.getVersion()
         );
     }
 }
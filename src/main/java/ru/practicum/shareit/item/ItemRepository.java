@@ -1,19 +1,27 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
-public interface ItemRepository extends JpaRepository<Item, Integer> {
+public interface ItemRepository extends JpaRepository<Item, Integer>, ItemBatchRepository {
 
-    @Query("SELECT i FROM Item i WHERE i.available = TRUE AND "
-            + "(LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) OR "
-            + "LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))")
-    List<Item> searchAvailableByText(@Param("text") String text);
+    Window<Item> findByOwnerIdOrderByIdAsc(Integer ownerId, ScrollPosition position, Limit limit);
 
-    List<Item> findByOwnerId(Integer ownerId);
+    List<Item> findByAvailableTrue();
 
-    void deleteByOwnerId(Integer ownerId);
+    @Query("SELECT new ru.practicum.shareit.item.ItemStamp(i.owner.id, i.version, i.commentCount) "
+            + "FROM Item i WHERE i.id = :itemId")
+    Optional<ItemStamp> findStampById(@Param("itemId") Integer itemId);
+
+    @Modifying
+    @Query("UPDATE Item i SET i.commentCount = i.commentCount + 1 WHERE i.id = :itemId")
+    void incrementCommentCount(@Param("itemId") Integer itemId);
 }
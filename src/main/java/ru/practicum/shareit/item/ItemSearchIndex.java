@@ -0,0 +1,221 @@
+package ru.practicum.shareit.item;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemShortResponseDto;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory trigram index of available items.
+ * Keeps the semantics of {@code LOWER(name) LIKE '%text%' OR LOWER(description) LIKE '%text%'}:
+ * the trigram postings only narrow the candidates, every candidate is verified against its text.
+ * Hits are ranked by match quality, name hits before description hits, then by item id.
+ * Name words are also kept in a sorted map to answer typeahead prefix lookups.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ItemRepository itemRepository;
+    private final Map<Integer, Document> documents = new ConcurrentHashMap<>();
+    private final Map<String, Set<Integer>> nameGrams = new ConcurrentHashMap<>();
+    private final Map<String, Set<Integer>> descriptionGrams = new ConcurrentHashMap<>();
+    private final NavigableMap<String, Set<Integer>> nameWords = new ConcurrentSkipListMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        documents.clear();
+        nameGrams.clear();
+        descriptionGrams.clear();
+        nameWords.clear();
+        itemRepository.findByAvailableTrue().forEach(this::put);
+        log.info("Item search index rebuilt: {} items, {} name grams, {} description grams",
+                documents.size(), nameGrams.size(), descriptionGrams.size());
+    }
+
+    public synchronized void put(Item item) {
+        remove(item.getId());
+        if (!item.isAvailable()) return;
+
+        Document document = new Document(item.getName(), normalize(item.getName()),
+                normalize(item.getDescription()));
+        documents.put(item.getId(), document);
+        addPostings(nameGrams, grams(document.name()), item.getId());
+        addPostings(descriptionGrams, grams(document.description()), item.getId());
+        addPostings(nameWords, words(document.name()), item.getId());
+    }
+
+    public synchronized void remove(Integer itemId) {
+        Document document = documents.remove(itemId);
+        if (document == null) return;
+
+        removePostings(nameGrams, grams(document.name()), itemId);
+        removePostings(descriptionGrams, grams(document.description()), itemId);
+        removePostings(nameWords, words(document.name()), itemId);
+    }
+
+    public void removeAll(Collection<Integer> itemIds) {
+        itemIds.forEach(this::remove);
+    }
+
+    /**
+     * Returns up to {@code limit} hits in rank order, starting after the {@code after} hit when it is given.
+     */
+    public List<Hit> search(String text, Hit after, int limit) {
+        String query = normalize(text);
+        Set<Integer> candidates = candidates(nameGrams, query);
+        candidates.addAll(candidates(descriptionGrams, query));
+
+        return candidates.stream()
+                .map(itemId -> {
+                    Document document = documents.get(itemId);
+                    return document == null ? null : new Hit(document.rank(query), itemId);
+                })
+                .filter(Objects::nonNull)
+                .filter(hit -> hit.rank() != Document.NO_MATCH)
+                .filter(hit -> after == null || Hit.ORDER.compare(hit, after) > 0)
+                .sorted(Hit.ORDER)
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Returns up to {@code limit} items whose name has a word starting with {@code prefix}.
+     * Names starting with the prefix come first, then shorter names, then lower ids.
+     */
+    public List<ItemShortResponseDto> suggest(String prefix, int limit) {
+        String query = normalize(prefix).strip();
+        String lookup = words(query).stream()
+                .max(Comparator.comparingInt(String::length))
+                .orElse(null);
+        if (lookup == null) return List.of();
+
+        Set<Integer> candidates = new HashSet<>();
+        nameWords.subMap(lookup, true, lookup + Character.MAX_VALUE, false)
+                .values()
+                .forEach(candidates::addAll);
+
+        return candidates.stream()
+                .map(itemId -> {
+                    Document document = documents.get(itemId);
+                    return document == null ? null : new Suggestion(itemId, document, document.rank(query));
+                })
+                .filter(Objects::nonNull)
+                .filter(suggestion -> suggestion.rank() <= Document.NAME_WORD_PREFIX)
+                .sorted(Comparator.comparingInt(Suggestion::rank)
+                        .thenComparingInt(suggestion -> suggestion.document().name().length())
+                        .thenComparing(Suggestion::itemId))
+                .limit(limit)
+                .map(suggestion -> new ItemShortResponseDto(suggestion.itemId(), suggestion.document().title()))
+                .toList();
+    }
+
+    // Additional methods
+
+    private static Set<Integer> candidates(Map<String, Set<Integer>> postings, String query) {
+        Set<Integer> result = new HashSet<>();
+        if (query.length() < GRAM_LENGTH) {
+            postings.forEach((gram, ids) -> {
+                if (gram.contains(query)) result.addAll(ids);
+            });
+            return result;
+        }
+
+        List<Set<Integer>> lists = grams(query).stream()
+                .map(gram -> postings.getOrDefault(gram, Set.of()))
+                .sorted(Comparator.comparingInt(Set::size))
+                .toList();
+        result.addAll(lists.getFirst());
+        lists.stream().skip(1).forEach(result::retainAll);
+        return result;
+    }
+
+    private static void addPostings(Map<String, Set<Integer>> postings, Set<String> grams, Integer itemId) {
+        grams.forEach(gram -> postings.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(itemId));
+    }
+
+    private static void removePostings(Map<String, Set<Integer>> postings, Set<String> grams, Integer itemId) {
+        grams.forEach(gram -> postings.computeIfPresent(gram, (g, ids) -> {
+            ids.remove(itemId);
+            return ids.isEmpty() ? null : ids;
+        }));
+    }
+
+    /**
+     * Splits the text into trigrams; a non-empty text shorter than a trigram is posted under itself, so short
+     * queries scanning the postings still find it.
+     */
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        if (!text.isEmpty() && text.length() < GRAM_LENGTH) {
+            grams.add(text);
+            return grams;
+        }
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static Set<String> words(String text) {
+        Set<String> words = new HashSet<>();
+        for (String word : WORD_SEPARATOR.split(text)) {
+            if (!word.isEmpty()) words.add(word);
+        }
+        return words;
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    public record Hit(int rank, Integer itemId) {
+        static final Comparator<Hit> ORDER = Comparator.comparingInt(Hit::rank).thenComparing(Hit::itemId);
+    }
+
+    private record Suggestion(Integer itemId, Document document, int rank) {
+    }
+
+    private record Document(String title, String name, String description) {
+        static final int NAME_WORD_PREFIX = 2;
+        static final int NO_MATCH = Integer.MAX_VALUE;
+
+        /**
+         * Match quality, lower is better: exact name, name prefix, name word prefix, name substring,
+         * description word prefix, description substring.
+         */
+        int rank(String query) {
+            if (name.equals(query)) return 0;
+            if (name.startsWith(query)) return 1;
+            if (containsWordStartingWith(name, query)) return NAME_WORD_PREFIX;
+            if (name.contains(query)) return 3;
+            if (containsWordStartingWith(description, query)) return 4;
+            if (description.contains(query)) return 5;
+            return NO_MATCH;
+        }
+
+        private static boolean containsWordStartingWith(String text, String query) {
+            for (int i = text.indexOf(query); i >= 0; i = text.indexOf(query, i + 1)) {
+                if (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1))) return true;
+            }
+            return false;
+        }
+    }
+}
@@ -1,25 +1,38 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
 import ru.practicum.shareit.comment.dto.CommentCreateDto;
 import ru.practicum.shareit.comment.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemShortResponseDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.page.CursorPage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
 
-    List<ItemResponseDto> getItemsByUserId(Integer userId);
+    CursorPage<ItemResponseDto> getItemsByUserId(Integer userId, Integer from, Integer size, String cursor);
 
-    List<ItemResponseDto> getItemsByText(Integer userId, String text);
+    CursorPage<ItemResponseDto> getItemsByText(Integer userId, String text, LocalDateTime start, LocalDateTime end,
+                                               String cursor, Integer limit);
+
+    List<ItemShortResponseDto> getItemSuggestions(Integer userId, String prefix, Integer limit);
 
     ItemResponseDto getItemById(Integer userId, Integer itemId);
 
+    String getItemETag(Integer userId, Integer itemId);
+
+    List<TimeSlotDto> getItemAvailability(Integer userId, Integer itemId, LocalDateTime from, LocalDateTime to);
+
     ItemResponseDto createItem(Integer userId, ItemCreateDto itemCreateDto);
 
     ItemResponseDto updateItem(Integer userId, ItemUpdateDto itemUpdateDto);
 
+    CursorPage<CommentResponseDto> getComments(Integer userId, Integer itemId, String cursor, Integer size);
+
     CommentResponseDto createComment(Integer userId, Integer itemId, CommentCreateDto commentCreateDto);
 
 }
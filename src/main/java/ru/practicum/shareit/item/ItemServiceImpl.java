@@ -3,28 +3,44 @@ package ru.practicum.shareit.item;
 import jakarta.validation.ValidationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.booking.Booking;
-import ru.practicum.shareit.booking.BookingRepository;
-import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.booking.ItemBookingSummary;
+import ru.practicum.shareit.booking.ItemBookingSummaryService;
+import ru.practicum.shareit.booking.BookingHistoryRepository;
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
 import ru.practicum.shareit.comment.Comment;
+import ru.practicum.shareit.comment.CommentConstants;
 import ru.practicum.shareit.comment.CommentMapper;
 import ru.practicum.shareit.comment.CommentRepository;
+import ru.practicum.shareit.comment.CommentView;
 import ru.practicum.shareit.comment.dto.CommentCreateDto;
 import ru.practicum.shareit.comment.dto.CommentResponseDto;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidException;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemShortResponseDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.page.CursorPage;
+import ru.practicum.shareit.page.PageCursor;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserDeletionJobs;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserResolver;
 
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -33,53 +49,165 @@ import java.util.stream.Collectors;
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
-    private final BookingRepository bookingRepository;
+    private final UserResolver userResolver;
+    private final UserDeletionJobs userDeletionJobs;
+    private final BookingHistoryRepository bookingHistoryRepository;
     private final CommentRepository commentRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final ItemViewCache itemViewCache;
 
     @Override
-    public List<ItemResponseDto> getItemsByUserId(Integer userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException(String.format("User not found: id = %d", userId)));
-        return getListItemResponseDto(itemRepository.findByOwnerId(userId), true, true);
+    public CursorPage<ItemResponseDto> getItemsByUserId(Integer userId, Integer from, Integer size,
+                                                        String cursor) {
+        userResolver.checkExists(userId);
+
+        ScrollPosition position;
+        if (cursor != null) {
+            position = ScrollPosition.forward(Map.of("id", PageCursor.decode(cursor, 1).intKey(0)));
+        } else {
+            position = from == 0 ? ScrollPosition.offset() : ScrollPosition.offset(from - 1);
+        }
+        Window<Item> items = itemRepository.findByOwnerIdOrderByIdAsc(userId, position, Limit.of(size));
+
+        String nextCursor = null;
+        if (items.hasNext() && !items.isEmpty()) {
+            nextCursor = PageCursor.of(items.getContent().getLast().getId()).encode();
+        }
+        return new CursorPage<>(getListItemResponseDto(items.getContent(), true, true), nextCursor);
     }
 
     @Override
-    public List<ItemResponseDto> getItemsByText(Integer userId, String text) {
-        return text.isBlank() ?
-                List.of() : getListItemResponseDto(itemRepository.searchAvailableByText(text), true, false);
+    public CursorPage<ItemResponseDto> getItemsByText(Integer userId, String text, LocalDateTime start,
+                                                      LocalDateTime end, String cursor, Integer limit) {
+        if ((start == null) != (end == null)) {
+            throw new ValidException("The start and end dates must be set together.");
+        }
+        if (start != null && !start.isBefore(end)) {
+            throw new ValidException("The start date must be before the end date.");
+        }
+        if (text.isBlank()) return new CursorPage<>(List.of(), null);
+
+        ItemSearchIndex.Hit after = null;
+        if (cursor != null) {
+            PageCursor pageCursor = PageCursor.decode(cursor, 2);
+            after = new ItemSearchIndex.Hit(pageCursor.intKey(0), pageCursor.intKey(1));
+        }
+        List<ItemSearchIndex.Hit> hits;
+        if (start == null) {
+            hits = itemSearchIndex.search(text, after, limit + 1);
+        } else {
+            // Busy items are dropped chunk by chunk until the page and one more hit are found or the hits run out
+            int chunkSize = (limit + 1) * ItemConstants.SEARCH_CHUNK_FACTOR;
+            hits = new ArrayList<>();
+            ItemSearchIndex.Hit chunkAfter = after;
+            List<ItemSearchIndex.Hit> chunk;
+            do {
+                chunk = itemSearchIndex.search(text, chunkAfter, chunkSize);
+                if (chunk.isEmpty()) break;
+
+                Set<Integer> busyItemIds = bookingIntervalIndex.getBusyItemIds(
+                        chunk.stream().map(ItemSearchIndex.Hit::itemId).toList(), start, end);
+                for (ItemSearchIndex.Hit hit : chunk) {
+                    if (hits.size() > limit) break;
+                    if (!busyItemIds.contains(hit.itemId())) hits.add(hit);
+                }
+                chunkAfter = chunk.getLast();
+            } while (hits.size() <= limit && chunk.size() == chunkSize);
+        }
+        String nextCursor = null;
+        if (hits.size() > limit) {
+            hits = hits.subList(0, limit);
+            ItemSearchIndex.Hit last = hits.getLast();
+            nextCursor = PageCursor.of(last.rank(), last.itemId()).encode();
+        }
+
+        List<Integer> itemIds = hits.stream().map(ItemSearchIndex.Hit::itemId).toList();
+        Map<Integer, Item> itemMap = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<Item> items = itemIds.stream()
+                .map(itemMap::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new CursorPage<>(getListItemResponseDto(items, true, false), nextCursor);
+    }
+
+    @Override
+    public List<ItemShortResponseDto> getItemSuggestions(Integer userId, String prefix, Integer limit) {
+        return prefix.isBlank() ? List.of() : itemSearchIndex.suggest(prefix, limit);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public ItemResponseDto getItemById(Integer userId, Integer itemId) {
+        ItemResponseDto cached = itemViewCache.get(userId, itemId);
+        if (cached != null) return cached;
+
+        long loadedAt = itemViewCache.generation();
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException(String.format("Item not found: id = %d", itemId)));
 
-        Booking lastBooking = null;
-        Booking nextBooking = null;
-        List<Comment> comments = commentRepository.findByItemId(itemId);
+        ItemBookingSummary bookingSummary = null;
+        List<CommentResponseDto> comments = getCommentPreviews(List.of(itemId)).getOrDefault(itemId, List.of());
 
         if (userId.equals(item.getOwner().getId())) {
-            lastBooking = getLastBooking(itemId);
-            nextBooking = getNextBooking(itemId);
+            bookingSummary = itemBookingSummaryService.getSummaries(List.of(itemId)).get(itemId);
         }
 
-        return ItemMapper.toItemResponseDto(item, lastBooking, nextBooking, comments);
+        ItemResponseDto view = ItemMapper.toItemResponseDto(item, bookingSummary, comments);
+        itemViewCache.put(userId, view, bookingSummary == null ? null : bookingSummary.getRefreshAt(), loadedAt);
+        return view;
+    }
+
+    /**
+     * Builds the entity tag of the item view from its stamp alone, so a matching {@code If-None-Match} is answered
+     * without loading the item or its comments. The owner view also depends on the last and next bookings.
+     */
+    @Override
+    public String getItemETag(Integer userId, Integer itemId) {
+        ItemStamp stamp = itemRepository.findStampById(itemId)
+                .orElseThrow(() -> new NotFoundException(String.format("Item not found: id = %d", itemId)));
+        String etag = String.format("item-%d-%d-%d", itemId, stamp.version(), stamp.commentCount());
+        if (!userId.equals(stamp.ownerId())) return etag;
+
+        ItemBookingSummary summary = itemBookingSummaryService.getSummaries(List.of(itemId)).get(itemId);
+        return summary == null ? etag
+                : String.format("%s-%s-%s", etag, summary.getLastBookingId(), summary.getNextBookingId());
+    }
+
+    @Override
+    public List<TimeSlotDto> getItemAvailability(Integer userId, Integer itemId, LocalDateTime from,
+                                                 LocalDateTime to) {
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException(String.format("Item not found: id = %d", itemId)));
+        LocalDateTime now = LocalDateTime.now();
+        if (from == null || from.isBefore(now)) {
+            from = now;
+        }
+        if (!from.isBefore(to)) {
+            throw new ValidException("The start date must be before the end date.");
+        }
+        // An item its owner made unavailable cannot be booked at any time
+        if (!item.isAvailable()) return List.of();
+        return bookingIntervalIndex.getFreeSlots(itemId, from, to);
     }
 
     @Override
     public ItemResponseDto createItem(Integer userId, ItemCreateDto itemCreateDto) {
         User owner = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException(String.format("User not found: id = %d", userId)));
+        userDeletionJobs.checkNotDeleting(userId);
         Item createItem = itemRepository.save(ItemMapper.toItem(itemCreateDto, owner));
+        itemBookingSummaryService.create(createItem.getId());
+        itemSearchIndex.put(createItem);
         log.info("Create item: {}", createItem);
-        return ItemMapper.toItemResponseDto(createItem, null, null, List.of());
+        return ItemMapper.toItemResponseDto(createItem, null, List.of());
     }
 
     @Override
     public ItemResponseDto updateItem(Integer userId, ItemUpdateDto itemUpdateDto) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException(String.format("User not found: id = %d", userId)));
+        userResolver.checkExists(userId);
+        userDeletionJobs.checkNotDeleting(userId);
         Item updateItem = itemRepository.findById(itemUpdateDto.id())
                 .orElseThrow(() -> new NotFoundException(String.format("Item not found: id = %d", itemUpdateDto.id())));
         if (!userId.equals(updateItem.getOwner().getId())) {
@@ -87,24 +215,55 @@ public class ItemServiceImpl implements ItemService {
         }
         updateItem = ItemMapper.patchItem(updateItem, itemUpdateDto);
         updateItem = itemRepository.save(updateItem);
+        itemSearchIndex.put(updateItem);
+        itemViewCache.invalidate(updateItem.getId());
         log.info("Update item: {}", updateItem);
-        return ItemMapper.toItemResponseDto(updateItem, null, null, List.of());
+        return ItemMapper.toItemResponseDto(updateItem, null, List.of());
+    }
+
+    @Override
+    public CursorPage<CommentResponseDto> getComments(Integer userId, Integer itemId, String cursor,
+                                                      Integer size) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException(String.format("Item not found: id = %d", itemId));
+        }
+
+        ScrollPosition position = ScrollPosition.keyset();
+        if (cursor != null) {
+            PageCursor pageCursor = PageCursor.decode(cursor, 2);
+            position = ScrollPosition.forward(Map.of(
+                    "created", pageCursor.dateTimeKey(0),
+                    "id", pageCursor.intKey(1)));
+        }
+        Window<CommentResponseDto> comments = commentRepository.findByItemIdOrderByCreatedAscIdAsc(itemId, position,
+                Limit.of(size)).map(CommentMapper::toCommentResponseDto);
+
+        String nextCursor = null;
+        if (comments.hasNext() && !comments.isEmpty()) {
+            CommentResponseDto last = comments.getContent().getLast();
+            nextCursor = PageCursor.of(last.created(), last.id()).encode();
+        }
+        return new CursorPage<>(comments.getContent(), nextCursor);
     }
 
     @Override
+    @Transactional
     public CommentResponseDto createComment(Integer userId, Integer itemId, CommentCreateDto commentCreateDto) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException(String.format("User not found: id = %d", userId)));
+        userDeletionJobs.checkNotDeleting(userId);
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException(String.format("Item not found: id = %d", itemId)));
 
-        if (!bookingRepository.existsByBookerIdAndItemIdAndEndBefore(userId, itemId, LocalDateTime.now())) {
+        if (!bookingHistoryRepository.existsByBookerIdAndItemIdAndEndBefore(userId, itemId, LocalDateTime.now())) {
             throw new ValidationException("User not booking or booking not completed");
         }
 
         Comment comment = CommentMapper.toComment(commentCreateDto, item, user);
 
         Comment createComment = commentRepository.save(comment);
+        itemRepository.incrementCommentCount(itemId);
+        itemViewCache.invalidate(itemId);
         log.info("Create comment: {}", createComment);
 
         return CommentMapper.toCommentResponseDto(createComment);
@@ -112,59 +271,27 @@ public class ItemServiceImpl implements ItemService {
 
     // Additional methods
 
-    private Booking getLastBooking(Integer itemId) {
-        return bookingRepository.findFirstByItemIdAndEndBeforeOrderByEndDesc(itemId, LocalDateTime.now())
-                .orElse(null);
-    }
-
-    private Booking getNextBooking(Integer itemId) {
-        return bookingRepository.findFirstByItemIdAndStartAfterOrderByStartAsc(itemId, LocalDateTime.now())
-                .orElse(null);
-    }
-
-    private Map<Integer, List<Comment>> getCommentsMap(List<Integer> itemIds) {
-        return commentRepository.findByItemIdIn(itemIds).stream()
-                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
-    }
-
-    private Map<Integer, List<Booking>> getBookingsMap(List<Integer> itemIds) {
-        return bookingRepository.findByItemIdInAndStatus(itemIds, BookingStatus.APPROVED).stream()
-                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+    private Map<Integer, List<CommentResponseDto>> getCommentPreviews(List<Integer> itemIds) {
+        return commentRepository.findLatestByItemIdIn(itemIds, CommentConstants.PREVIEW_SIZE).stream()
+                .collect(Collectors.groupingBy(CommentView::getItemId,
+                        Collectors.mapping(CommentMapper::toCommentResponseDto, Collectors.toList())));
     }
 
     private List<ItemResponseDto> getListItemResponseDto(List<Item> items, boolean addComment, boolean addBooking) {
         if (items.isEmpty()) return List.of();
 
         List<Integer> itemIds = items.stream().map(Item::getId).toList();
-        Map<Integer, List<Booking>> bookingMap = addComment ? getBookingsMap(itemIds) : null;
-        Map<Integer, List<Comment>> commentsMap = addBooking ? getCommentsMap(itemIds) : null;
+        Map<Integer, ItemBookingSummary> bookingSummaries = addComment
+                ? itemBookingSummaryService.getSummaries(itemIds)
+                : Map.of();
+        Map<Integer, List<CommentResponseDto>> commentsMap = addBooking ? getCommentPreviews(itemIds) : null;
 
         return items.stream()
-                .map(item -> {
-                    Integer itemId = item.getId();
-                    Booking lastBooking = null;
-                    Booking nextBooking = null;
-
-                    if (bookingMap != null) {
-                        LocalDateTime now = LocalDateTime.now();
-                        List<Booking> bookings = bookingMap.getOrDefault(itemId, List.of());
-                        lastBooking = bookings.stream()
-                                .filter(b -> b.getEnd().isBefore(now))
-                                .max(Comparator.comparing(Booking::getEnd))
-                                .orElse(null);
-                        nextBooking = bookings.stream()
-                                .filter(b -> b.getStart().isAfter(now))
-                                .min(Comparator.comparing(Booking::getStart))
-                                .orElse(null);
-                    }
-
-                    return ItemMapper.toItemResponseDto(
-                            item,
-                            lastBooking,
-                            nextBooking,
-                            commentsMap == null ? List.of() : commentsMap.getOrDefault(itemId, List.of())
-                    );
-                })
+                .map(item -> ItemMapper.toItemResponseDto(
+                        item,
+                        bookingSummaries.get(item.getId()),
+                        commentsMap == null ? List.of() : commentsMap.getOrDefault(item.getId(), List.of())
+                ))
                 .toList();
     }
 }
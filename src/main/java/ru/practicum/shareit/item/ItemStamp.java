@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item;
+
+/**
+ * What an item response depends on, read without loading the item: changes to the item bump its version,
+ * new comments its comment count.
+ */
+public record ItemStamp(Integer ownerId, Integer version, Integer commentCount) {
+}
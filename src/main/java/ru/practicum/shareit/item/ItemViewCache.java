@@ -0,0 +1,91 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.cache.LruCache;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Item detail responses by item id and viewer role. The owner's view carries the booking summary and expires
+ * with it; the view of everyone else is the same response without bookings.
+ */
+@Component
+public class ItemViewCache {
+    private final LruCache<Key, ItemResponseDto> cache;
+
+    public ItemViewCache(MeterRegistry meterRegistry,
+                         @Value("${shareit.cache.item.max-size:10000}") int maxSize,
+                         @Value("${shareit.cache.item.ttl:PT5M}") Duration ttl) {
+        this.cache = new LruCache<>("item", maxSize, ttl, meterRegistry);
+    }
+
+    public ItemResponseDto get(Integer userId, Integer itemId) {
+        // Any cached view tells the owner, so the lookup below hits or misses the view of the right role
+        ItemResponseDto viewerView = cache.peek(new Key(itemId, false));
+        boolean owner = viewerView != null && viewerView.ownerId().equals(userId);
+        return cache.get(new Key(itemId, owner));
+    }
+
+    public long generation() {
+        return cache.generation();
+    }
+
+    /**
+     * Caches the view loaded by {@code userId} after taking {@code loadedAt} from {@link #generation()}.
+     */
+    public void put(Integer userId, ItemResponseDto view, LocalDateTime expiresAt, long loadedAt) {
+        if (!view.ownerId().equals(userId)) {
+            cache.put(new Key(view.id(), false), view, loadedAt);
+            return;
+        }
+        cache.put(new Key(view.id(), true), view, expiresAt, loadedAt);
+        cache.put(new Key(view.id(), false), new ItemResponseDto(
+                view.id(),
+                view.name(),
+                view.description(),
+                view.available(),
+                view.ownerId(),
+                null,
+                null,
+                view.commentCount(),
+                view.comments()
+        ), loadedAt);
+    }
+
+    /**
+     * Drops the views of the item. Inside a transaction the views are dropped again after commit, so a view
+     * loaded from the old state in between does not stay cached.
+     */
+    public void invalidate(Integer itemId) {
+        evict(itemId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(itemId);
+                }
+            });
+        }
+    }
+
+    public void invalidateAll(Collection<Integer> itemIds) {
+        itemIds.forEach(this::invalidate);
+    }
+
+    // Additional methods
+
+    private void evict(Integer itemId) {
+        cache.invalidate(new Key(itemId, true));
+        cache.invalidate(new Key(itemId, false));
+    }
+
+    private record Key(Integer itemId, boolean owner) {
+    }
+}
@@ -13,6 +13,7 @@ public record ItemResponseDto(
         Integer ownerId,
         BookingShortResponseDto lastBooking,
         BookingShortResponseDto nextBooking,
+        Integer commentCount,
         List<CommentResponseDto> comments
 ) {
 }
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.page;
+
+import java.util.List;
+
+public record CursorPage<T>(
+        List<T> content,
+        String nextCursor
+) {
+}
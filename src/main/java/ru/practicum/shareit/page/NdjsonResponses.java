@@ -0,0 +1,43 @@
+package ru.practicum.shareit.page;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import static ru.practicum.shareit.ShareItConstants.STREAM_FETCH_SIZE;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class NdjsonResponses {
+    private static final int FLUSH_EVERY = Integer.parseInt(STREAM_FETCH_SIZE);
+
+    /**
+     * Writes every value {@code source} passes on as one JSON line as soon as it arrives, flushing once per
+     * fetched chunk so the client sees progress. A failed write ends the source with an {@link UncheckedIOException}.
+     */
+    public static <T> ResponseEntity<StreamingResponseBody> ok(ObjectMapper objectMapper,
+                                                               Consumer<Consumer<T>> source) {
+        StreamingResponseBody body = outputStream -> {
+            int[] written = {0};
+            source.accept(value -> {
+                try {
+                    outputStream.write(objectMapper.writeValueAsBytes(value));
+                    outputStream.write('\n');
+                    if (++written[0] % FLUSH_EVERY == 0) {
+                        outputStream.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outputStream.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
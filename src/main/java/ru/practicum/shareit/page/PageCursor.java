@@ -0,0 +1,60 @@
+package ru.practicum.shareit.page;
+
+import ru.practicum.shareit.exception.ValidException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque keyset cursor: the sort key of the last returned row, encoded as URL-safe Base64.
+ */
+public record PageCursor(List<String> keys) {
+    private static final String SEPARATOR = "|";
+
+    public static PageCursor of(Object... keys) {
+        return new PageCursor(Arrays.stream(keys).map(String::valueOf).toList());
+    }
+
+    public static PageCursor decode(String cursor, int keyCount) {
+        String value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalid(cursor);
+        }
+        List<String> keys = List.of(value.split("\\" + SEPARATOR, -1));
+        if (keys.size() != keyCount) {
+            throw invalid(cursor);
+        }
+        return new PageCursor(keys);
+    }
+
+    public String encode() {
+        String value = String.join(SEPARATOR, keys);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int intKey(int index) {
+        try {
+            return Integer.parseInt(keys.get(index));
+        } catch (NumberFormatException e) {
+            throw invalid(encode());
+        }
+    }
+
+    public LocalDateTime dateTimeKey(int index) {
+        try {
+            return LocalDateTime.parse(keys.get(index));
+        } catch (DateTimeParseException e) {
+            throw invalid(encode());
+        }
+    }
+
+    private static ValidException invalid(String cursor) {
+        return new ValidException(String.format("Invalid cursor: %s", cursor));
+    }
+}
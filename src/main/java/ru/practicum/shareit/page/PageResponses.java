@@ -0,0 +1,24 @@
+package ru.practicum.shareit.page;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static ru.practicum.shareit.ShareItConstants.RESP_HEAD_NEXT_CURSOR;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PageResponses {
+
+    /**
+     * Keeps the body a plain JSON array and passes the cursor of the next page in a header.
+     */
+    public static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(RESP_HEAD_NEXT_CURSOR, page.nextCursor());
+        }
+        return response.body(page.content());
+    }
+}
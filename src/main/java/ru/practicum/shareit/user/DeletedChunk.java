@@ -0,0 +1,11 @@
+package ru.practicum.shareit.user;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One chunk of a user deletion: the number of rows deleted, the items they belonged to and, for a chunk of live
+ * bookings, the booking ids.
+ */
+public record DeletedChunk(int rows, Set<Integer> itemIds, List<Integer> bookingIds) {
+}
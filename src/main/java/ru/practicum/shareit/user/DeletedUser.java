@@ -0,0 +1,10 @@
+package ru.practicum.shareit.user;
+
+import java.util.List;
+
+/**
+ * The rows of a user still left when the user row is deleted and taken with it by ON DELETE CASCADE: the items of
+ * the user and the live bookings made by the user or of those items.
+ */
+public record DeletedUser(int rows, List<Integer> itemIds, DeletedChunk bookings) {
+}
@@ -20,4 +20,7 @@ public class User {
 
     @Column(nullable = false, length = UserConstants.EMAIL_SIZE_MAX, unique = true)
     private String email;
+
+    @Version
+    private Integer version;
 }
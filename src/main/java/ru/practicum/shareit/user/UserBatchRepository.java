@@ -0,0 +1,30 @@
+package ru.practicum.shareit.user;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface UserBatchRepository {
+
+    /**
+     * Inserts the new users as one JDBC batch and sets their generated ids.
+     */
+    void insertAll(Collection<User> users);
+
+    /**
+     * Deletes up to {@code limit} rows that involve the user, in one transaction: comments written by the user or
+     * on the user's items first, then live and archived bookings made by the user or of the user's items.
+     * Returns no rows once nothing is left.
+     */
+    DeletedChunk deleteActivityChunk(Integer userId, int limit);
+
+    /**
+     * Deletes up to {@code limit} items of the user in one transaction and returns their ids.
+     */
+    List<Integer> deleteItemsChunk(Integer userId, int limit);
+
+    /**
+     * Deletes the user row in one transaction and returns the items and live bookings deleted with it. The row is
+     * locked first, so no item or booking of the user can be added between the lookup and the delete.
+     */
+    DeletedUser deleteUser(Integer userId);
+}
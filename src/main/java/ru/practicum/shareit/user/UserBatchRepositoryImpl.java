@@ -0,0 +1,162 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plain JDBC batches: the IDENTITY ids of {@link User} stop Hibernate from batching inserts.
+ * Deletes are set-based by id chunks, so deleting a user with many items never loads them or locks them all at once.
+ */
+@RequiredArgsConstructor
+public class UserBatchRepositoryImpl implements UserBatchRepository {
+    private static final String INSERT_SQL = """
+            INSERT INTO users (name, email)
+            VALUES (:name, :email)
+            """;
+
+    private static final String SELECT_ACTIVITY_SQL = """
+            SELECT id, item_id FROM %s
+            WHERE %s = :userId OR item_id IN (SELECT id FROM items WHERE owner_id = :userId)
+            ORDER BY id
+            LIMIT :limit
+            """;
+
+    private static final String DECREMENT_COMMENT_COUNT_SQL = """
+            UPDATE items SET comment_count = comment_count - 1
+            WHERE id = :itemId
+            """;
+
+    private static final String DELETE_SQL = """
+            DELETE FROM %s
+            WHERE id IN (:ids)
+            """;
+
+    private static final String SELECT_ITEMS_SQL = """
+            SELECT id FROM items
+            WHERE owner_id = :userId
+            ORDER BY id
+            LIMIT :limit
+            """;
+
+    private static final String LOCK_USER_SQL = """
+            SELECT id FROM users
+            WHERE id = :userId
+            FOR UPDATE
+            """;
+
+    private static final String SELECT_BOOKINGS_SQL = """
+            SELECT id, item_id FROM bookings
+            WHERE booker_id = :userId OR item_id IN (SELECT id FROM items WHERE owner_id = :userId)
+            """;
+
+    private static final String SELECT_ALL_ITEMS_SQL = """
+            SELECT id FROM items
+            WHERE owner_id = :userId
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void insertAll(Collection<User> users) {
+        if (users.isEmpty()) return;
+
+        SqlParameterSource[] batchArgs = users.stream()
+                .map(user -> new MapSqlParameterSource()
+                        .addValue("name", user.getName())
+                        .addValue("email", user.getEmail()))
+                .toArray(SqlParameterSource[]::new);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs, keyHolder, new String[]{"id"});
+
+        Iterator<User> iterator = users.iterator();
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            User user = iterator.next();
+            user.setId(((Number) keys.values().iterator().next()).intValue());
+            user.setVersion(0);
+        }
+    }
+
+    @Override
+    @Transactional
+    public DeletedChunk deleteActivityChunk(Integer userId, int limit) {
+        List<ActivityRow> comments = selectActivity("comments", "author_id", userId, limit);
+        if (!comments.isEmpty()) {
+            SqlParameterSource[] batchArgs = comments.stream()
+                    .map(row -> new MapSqlParameterSource("itemId", row.itemId()))
+                    .toArray(SqlParameterSource[]::new);
+            jdbcTemplate.batchUpdate(DECREMENT_COMMENT_COUNT_SQL, batchArgs);
+            return delete("comments", comments, false);
+        }
+        List<ActivityRow> bookings = selectActivity("bookings", "booker_id", userId, limit);
+        if (!bookings.isEmpty()) {
+            return delete("bookings", bookings, true);
+        }
+        return delete("bookings_archive", selectActivity("bookings_archive", "booker_id", userId, limit), false);
+    }
+
+    @Override
+    @Transactional
+    public List<Integer> deleteItemsChunk(Integer userId, int limit) {
+        List<Integer> ids = jdbcTemplate.queryForList(SELECT_ITEMS_SQL,
+                new MapSqlParameterSource().addValue("userId", userId).addValue("limit", limit), Integer.class);
+        if (!ids.isEmpty()) {
+            jdbcTemplate.update(String.format(DELETE_SQL, "items"), new MapSqlParameterSource("ids", ids));
+        }
+        return ids;
+    }
+
+    @Override
+    @Transactional
+    public DeletedUser deleteUser(Integer userId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+        if (jdbcTemplate.queryForList(LOCK_USER_SQL, params, Integer.class).isEmpty()) {
+            return new DeletedUser(0, List.of(), new DeletedChunk(0, Set.of(), List.of()));
+        }
+
+        List<ActivityRow> bookings = jdbcTemplate.query(SELECT_BOOKINGS_SQL, params,
+                (rs, rowNum) -> new ActivityRow(rs.getInt("id"), rs.getInt("item_id")));
+        List<Integer> itemIds = jdbcTemplate.queryForList(SELECT_ALL_ITEMS_SQL, params, Integer.class);
+        int deleted = jdbcTemplate.update(String.format(DELETE_SQL, "users"), new MapSqlParameterSource("ids",
+                List.of(userId)));
+
+        Set<Integer> bookingItemIds = new HashSet<>();
+        bookings.forEach(row -> bookingItemIds.add(row.itemId()));
+        DeletedChunk deletedBookings = new DeletedChunk(bookings.size(), bookingItemIds,
+                bookings.stream().map(ActivityRow::id).toList());
+        return new DeletedUser(deleted + itemIds.size() + bookings.size(), itemIds, deletedBookings);
+    }
+
+    // Additional methods
+
+    private List<ActivityRow> selectActivity(String table, String userColumn, Integer userId, int limit) {
+        return jdbcTemplate.query(String.format(SELECT_ACTIVITY_SQL, table, userColumn),
+                new MapSqlParameterSource().addValue("userId", userId).addValue("limit", limit),
+                (rs, rowNum) -> new ActivityRow(rs.getInt("id"), rs.getInt("item_id")));
+    }
+
+    private DeletedChunk delete(String table, List<ActivityRow> rows, boolean liveBookings) {
+        if (rows.isEmpty()) return new DeletedChunk(0, Set.of(), List.of());
+
+        Set<Integer> itemIds = new HashSet<>();
+        rows.forEach(row -> itemIds.add(row.itemId()));
+        List<Integer> ids = rows.stream().map(ActivityRow::id).toList();
+        int deleted = jdbcTemplate.update(String.format(DELETE_SQL, table), new MapSqlParameterSource("ids", ids));
+        return new DeletedChunk(deleted, itemIds, liveBookings ? ids : List.of());
+    }
+
+    private record ActivityRow(Integer id, Integer itemId) {
+    }
+}
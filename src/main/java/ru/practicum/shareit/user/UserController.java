@@ -1,27 +1,46 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.page.NdjsonResponses;
+import ru.practicum.shareit.page.PageResponses;
 import ru.practicum.shareit.user.dto.UserCreateDto;
+import ru.practicum.shareit.user.dto.UserDeletionJobDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
 import java.util.List;
 
+import static ru.practicum.shareit.ShareItConstants.PAGE_SIZE_DEFAULT;
+import static ru.practicum.shareit.ShareItConstants.PAGE_SIZE_MAX;
+
 @Validated
 @RestController
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public List<UserResponseDto> getAllUsers() {
-        return userService.getUsers();
+    public ResponseEntity<List<UserResponseDto>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = PAGE_SIZE_DEFAULT) @Min(1) @Max(PAGE_SIZE_MAX) Integer size) {
+        return PageResponses.ok(userService.getUsers(cursor, size));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        return NdjsonResponses.ok(objectMapper, userService::forEachUser);
     }
 
     @GetMapping("/{userId}")
@@ -47,8 +66,13 @@ public class UserController {
     }
 
     @DeleteMapping("/{userId}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteUserById(@PathVariable @Min(1) Integer userId) {
-        userService.deleteUserById(userId);
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public UserDeletionJobDto deleteUserById(@PathVariable @Min(1) Integer userId) {
+        return userService.deleteUserById(userId);
+    }
+
+    @GetMapping("/deletions/{jobId}")
+    public UserDeletionJobDto getUserDeletion(@PathVariable String jobId) {
+        return userService.getUserDeletion(jobId);
     }
 }
@@ -0,0 +1,223 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.booking.BookingLocks;
+import ru.practicum.shareit.booking.ItemBookingSummaryService;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.item.ItemViewCache;
+import ru.practicum.shareit.user.dto.UserDeletionJobDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Deletes users in the background. The rows of a user are deleted in chunks, each chunk its own short
+ * transaction. Deleted bookings leave the interval index chunk by chunk, the other in-memory indexes and caches are
+ * brought up to date once the user row is gone. The user cannot write while the job runs, and whatever was added
+ * before that leaves the indexes with the user row.
+ * Jobs are kept in memory for {@code shareit.user.deletion.retention} after they finish.
+ */
+@Slf4j
+@Component
+public class UserDeletionJobs {
+    private final UserRepository userRepository;
+    private final UserResolver userResolver;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemViewCache itemViewCache;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final BookingLocks bookingLocks;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final int chunkSize;
+    private final Duration retention;
+    private final DistributionSummary rowsSummary;
+    private final ExecutorService executor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Set<Integer> deletingUserIds = ConcurrentHashMap.newKeySet();
+
+    public UserDeletionJobs(UserRepository userRepository,
+                            UserResolver userResolver,
+                            ItemSearchIndex itemSearchIndex,
+                            ItemViewCache itemViewCache,
+                            BookingIntervalIndex bookingIntervalIndex,
+                            BookingLocks bookingLocks,
+                            ItemBookingSummaryService itemBookingSummaryService,
+                            MeterRegistry meterRegistry,
+                            @Value("${shareit.user.deletion.threads:1}") int threads,
+                            @Value("${shareit.user.deletion.chunk-size:1000}") int chunkSize,
+                            @Value("${shareit.user.deletion.retention:PT1H}") Duration retention) {
+        this.userRepository = userRepository;
+        this.userResolver = userResolver;
+        this.itemSearchIndex = itemSearchIndex;
+        this.itemViewCache = itemViewCache;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.bookingLocks = bookingLocks;
+        this.itemBookingSummaryService = itemBookingSummaryService;
+        this.chunkSize = chunkSize;
+        this.retention = retention;
+        this.rowsSummary = DistributionSummary.builder("shareit.users.deletion.rows")
+                .description("Rows deleted per user deletion")
+                .register(meterRegistry);
+        this.executor = Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("user-deletion-", 1).factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Starts deleting the user, or returns the unfinished job already deleting it.
+     */
+    public synchronized UserDeletionJobDto submit(Integer userId) {
+        purgeFinished();
+        for (Job job : jobs.values()) {
+            if (job.userId.equals(userId) && !job.isFinished()) return job.toDto();
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), userId, LocalDateTime.now());
+        jobs.put(job.id, job);
+        deletingUserIds.add(userId);
+        executor.execute(() -> run(job));
+        log.info("Submit user deletion: job = {}, user id = {}", job.id, userId);
+        return job.toDto();
+    }
+
+    public UserDeletionJobDto get(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new NotFoundException(String.format("User deletion not found: id = %s", jobId));
+        }
+        return job.toDto();
+    }
+
+    /**
+     * Throws {@link ConflictException} while the user is being deleted, so the user cannot add items, bookings or
+     * comments behind the chunks already deleted.
+     */
+    public void checkNotDeleting(Integer userId) {
+        if (deletingUserIds.contains(userId)) {
+            throw new ConflictException(String.format("User is being deleted: id = %d", userId));
+        }
+    }
+
+    // Additional methods
+
+    private void run(Job job) {
+        job.status = UserDeletionStatus.RUNNING;
+        UserDeletionStatus status = UserDeletionStatus.FAILED;
+        try {
+            Set<Integer> itemIds = new HashSet<>();
+            DeletedChunk chunk;
+            do {
+                chunk = userRepository.deleteActivityChunk(job.userId, chunkSize);
+                List<Integer> bookingIds = chunk.bookingIds();
+                if (!bookingIds.isEmpty()) {
+                    withItemLocks(chunk.itemIds(), () -> bookingIntervalIndex.removeAll(bookingIds));
+                }
+                itemIds.addAll(chunk.itemIds());
+                job.deletedRows += chunk.rows();
+            } while (chunk.rows() > 0);
+
+            List<Integer> deletedItemIds = new ArrayList<>();
+            List<Integer> items;
+            do {
+                items = userRepository.deleteItemsChunk(job.userId, chunkSize);
+                deletedItemIds.addAll(items);
+                job.deletedRows += items.size();
+            } while (!items.isEmpty());
+
+            // Rows added meanwhile go with the user through ON DELETE CASCADE and leave the indexes below
+            DeletedUser rest = userRepository.deleteUser(job.userId);
+            job.deletedRows += rest.rows();
+            userResolver.invalidate(job.userId);
+            List<Integer> restBookingIds = rest.bookings().bookingIds();
+            if (!restBookingIds.isEmpty()) {
+                withItemLocks(rest.bookings().itemIds(), () -> bookingIntervalIndex.removeAll(restBookingIds));
+            }
+            itemIds.addAll(rest.bookings().itemIds());
+            deletedItemIds.addAll(rest.itemIds());
+
+            itemSearchIndex.removeAll(deletedItemIds);
+            withItemLocks(deletedItemIds, () -> bookingIntervalIndex.removeItems(deletedItemIds));
+            itemViewCache.invalidateAll(deletedItemIds);
+            deletedItemIds.forEach(itemIds::remove);
+            if (!itemIds.isEmpty()) {
+                itemBookingSummaryService.refresh(itemIds);
+                itemViewCache.invalidateAll(itemIds);
+            }
+
+            status = UserDeletionStatus.DONE;
+            log.info("Delete user: id = {}, {} rows", job.userId, job.deletedRows);
+        } catch (RuntimeException e) {
+            job.error = e.getMessage();
+            log.error("Delete user failed: id = {}", job.userId, e);
+        } finally {
+            job.finished = LocalDateTime.now();
+            job.status = status;
+            deletingUserIds.remove(job.userId);
+            rowsSummary.record(job.deletedRows);
+        }
+    }
+
+    /**
+     * Runs the index update under the booking locks of the items, so it cannot interleave with the overlap check
+     * and insert of a booking of the same items.
+     */
+    private void withItemLocks(Collection<Integer> itemIds, Runnable update) {
+        List<Lock> locks = bookingLocks.forItems(itemIds);
+        locks.forEach(Lock::lock);
+        try {
+            update.run();
+        } finally {
+            locks.forEach(Lock::unlock);
+        }
+    }
+
+    private void purgeFinished() {
+        LocalDateTime expired = LocalDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> job.isFinished() && job.finished.isBefore(expired));
+    }
+
+    private static final class Job {
+        private final String id;
+        private final Integer userId;
+        private final LocalDateTime created;
+        private volatile UserDeletionStatus status = UserDeletionStatus.PENDING;
+        private volatile long deletedRows;
+        private volatile LocalDateTime finished;
+        private volatile String error;
+
+        private Job(String id, Integer userId, LocalDateTime created) {
+            this.id = id;
+            this.userId = userId;
+            this.created = created;
+        }
+
+        private boolean isFinished() {
+            return status == UserDeletionStatus.DONE || status == UserDeletionStatus.FAILED;
+        }
+
+        private UserDeletionJobDto toDto() {
+            return new UserDeletionJobDto(id, userId, status, deletedRows, created, finished, error);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.user;
+
+public enum UserDeletionStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
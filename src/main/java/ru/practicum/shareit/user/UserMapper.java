@@ -21,7 +21,8 @@ public final class UserMapper {
         return new User(
                 null,
                 userCreateDto.name(),
-                userCreateDto.email()
+                userCreateDto.email(),
+                null
         );
     }
 
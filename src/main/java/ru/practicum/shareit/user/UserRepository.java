@@ -1,8 +1,32 @@
 package ru.practicum.shareit.user;
 
-
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static ru.practicum.shareit.ShareItConstants.STREAM_FETCH_SIZE;
+
+public interface UserRepository extends JpaRepository<User, Integer>, UserBatchRepository {
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    Set<Integer> findIdsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findEmailsByEmailIn(@Param("emails") Collection<String> emails);
 
-public interface UserRepository extends JpaRepository<User, Integer> {
+    Window<User> findByOrderByIdAsc(ScrollPosition position, Limit limit);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAllByOrderByIdAsc();
 }
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.LruCache;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Checks the {@code X-Sharer-User-Id} of a request against a cache of known and unknown user ids, so the check
+ * costs a database round trip only on a miss. Unknown ids are kept for a shorter time than known ones.
+ */
+@Component
+public class UserResolver {
+    private final UserRepository userRepository;
+    private final LruCache<Integer, Boolean> cache;
+    private final Duration negativeTtl;
+
+    public UserResolver(UserRepository userRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${shareit.cache.user.max-size:100000}") int maxSize,
+                        @Value("${shareit.cache.user.ttl:PT10M}") Duration ttl,
+                        @Value("${shareit.cache.user.negative-ttl:PT30S}") Duration negativeTtl) {
+        this.userRepository = userRepository;
+        this.cache = new LruCache<>("user", maxSize, ttl, meterRegistry);
+        this.negativeTtl = negativeTtl;
+    }
+
+    /**
+     * Throws {@link NotFoundException} unless the user exists.
+     */
+    public void checkExists(Integer userId) {
+        Boolean exists = cache.get(userId);
+        if (exists == null) {
+            long loadedAt = cache.generation();
+            exists = userRepository.existsById(userId);
+            cache.put(userId, exists, exists ? null : LocalDateTime.now().plus(negativeTtl), loadedAt);
+        }
+        if (!exists) {
+            throw new NotFoundException(String.format("User not found: id = %d", userId));
+        }
+    }
+
+    /**
+     * Drops the cached answer for the user; called whenever a user is created or deleted.
+     */
+    public void invalidate(Integer userId) {
+        cache.invalidate(userId);
+    }
+}
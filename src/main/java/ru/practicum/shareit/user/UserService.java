@@ -1,14 +1,18 @@
 package ru.practicum.shareit.user;
 
+import ru.practicum.shareit.page.CursorPage;
 import ru.practicum.shareit.user.dto.UserCreateDto;
+import ru.practicum.shareit.user.dto.UserDeletionJobDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
 
-    List<UserResponseDto> getUsers();
+    CursorPage<UserResponseDto> getUsers(String cursor, Integer size);
+
+    void forEachUser(Consumer<UserResponseDto> action);
 
     UserResponseDto getUserById(Integer userId);
 
@@ -16,5 +20,7 @@ public interface UserService {
 
     UserResponseDto updateUser(UserUpdateDto userUpdateDto);
 
-    void deleteUserById(Integer userId);
+    UserDeletionJobDto deleteUserById(Integer userId);
+
+    UserDeletionJobDto getUserDeletion(String jobId);
 }
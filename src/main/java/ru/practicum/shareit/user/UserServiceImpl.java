@@ -1,28 +1,67 @@
 package ru.practicum.shareit.user;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.comment.CommentRepository;
 import ru.practicum.shareit.exception.NotFoundException;
-import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemViewCache;
+import ru.practicum.shareit.page.CursorPage;
+import ru.practicum.shareit.page.PageCursor;
 import ru.practicum.shareit.user.dto.UserCreateDto;
+import ru.practicum.shareit.user.dto.UserDeletionJobDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
-import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
-    private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
+    private final UserResolver userResolver;
+    private final CommentRepository commentRepository;
+    private final ItemViewCache itemViewCache;
+    private final UserDeletionJobs userDeletionJobs;
 
     @Override
-    public List<UserResponseDto> getUsers() {
-        return userRepository.findAll().stream()
-                .map(UserMapper::toUserResponseDto)
-                .toList();
+    public CursorPage<UserResponseDto> getUsers(String cursor, Integer size) {
+        ScrollPosition position = ScrollPosition.keyset();
+        if (cursor != null) {
+            position = ScrollPosition.forward(Map.of("id", PageCursor.decode(cursor, 1).intKey(0)));
+        }
+        Window<UserResponseDto> users = userRepository.findByOrderByIdAsc(position, Limit.of(size))
+                .map(UserMapper::toUserResponseDto);
+
+        String nextCursor = null;
+        if (users.hasNext() && !users.isEmpty()) {
+            nextCursor = PageCursor.of(users.getContent().getLast().id()).encode();
+        }
+        return new CursorPage<>(users.getContent(), nextCursor);
+    }
+
+    /**
+     * Passes every user to {@code action} in id order while reading them through a database cursor. Each user is
+     * detached once passed on, so memory use does not grow with the table.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachUser(Consumer<UserResponseDto> action) {
+        try (Stream<User> users = userRepository.streamAllByOrderByIdAsc()) {
+            users.forEach(user -> {
+                action.accept(UserMapper.toUserResponseDto(user));
+                entityManager.detach(user);
+            });
+        }
     }
 
     @Override
@@ -35,6 +74,7 @@ public class UserServiceImpl implements UserService {
     @Override
     public UserResponseDto createUser(UserCreateDto userCreateDto) {
         User createUser = userRepository.save(UserMapper.toUser(userCreateDto));
+        userResolver.invalidate(createUser.getId());
         log.info("Create user: {}", createUser);
         return UserMapper.toUserResponseDto(createUser);
     }
@@ -45,16 +85,22 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new NotFoundException(String.format("User not found: id = %d", userUpdateDto.id())));
         UserMapper.updateUser(updateUser, userUpdateDto);
         updateUser = userRepository.save(updateUser);
+        if (userUpdateDto.name() != null) {
+            // Author names are part of the cached comment previews
+            itemViewCache.invalidateAll(commentRepository.findItemIdsByAuthorId(updateUser.getId()));
+        }
         log.info("Update user: {}", updateUser);
         return UserMapper.toUserResponseDto(updateUser);
     }
 
     @Override
-    public void deleteUserById(Integer userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException(String.format("User not found: id = %d", userId)));
-        itemRepository.deleteByOwnerId(userId);
-        userRepository.deleteById(userId);
-        log.info("Delete user: id = {}", userId);
+    public UserDeletionJobDto deleteUserById(Integer userId) {
+        userResolver.checkExists(userId);
+        return userDeletionJobs.submit(userId);
+    }
+
+    @Override
+    public UserDeletionJobDto getUserDeletion(String jobId) {
+        return userDeletionJobs.get(jobId);
     }
 }
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.user.dto;
+
+import ru.practicum.shareit.user.UserDeletionStatus;
+
+import java.time.LocalDateTime;
+
+public record UserDeletionJobDto(
+        String id,
+        Integer userId,
+        UserDeletionStatus status,
+        long deletedRows,
+        LocalDateTime created,
+        LocalDateTime finished,
+        String error
+) {
+}
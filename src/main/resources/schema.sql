@@ -27,4 +27,64 @@ CREATE TABLE IF NOT EXISTS comments (
     item_id INTEGER NOT NULL REFERENCES items(id) ON DELETE CASCADE,
     author_id INTEGER NOT NULL REFERENCES users(id) ON DELETE CASCADE,
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS comments_item_idx ON comments (item_id, created, id);
+CREATE INDEX IF NOT EXISTS comments_author_idx ON comments (author_id, item_id);
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS comment_count INTEGER NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS schema_migrations (
+    name VARCHAR(100) PRIMARY KEY,
+    applied_at TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+UPDATE items SET comment_count = (SELECT COUNT(*) FROM comments c WHERE c.item_id = items.id)
+    WHERE NOT EXISTS (SELECT 1 FROM schema_migrations WHERE name = 'items_comment_count');
+
+INSERT INTO schema_migrations (name, applied_at)
+    SELECT 'items_comment_count', LOCALTIMESTAMP
+    WHERE NOT EXISTS (SELECT 1 FROM schema_migrations WHERE name = 'items_comment_count');
+
+CREATE TABLE IF NOT EXISTS bookings_archive (
+    id INTEGER PRIMARY KEY,
+    start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    item_id INTEGER NOT NULL REFERENCES items(id) ON DELETE CASCADE,
+    booker_id INTEGER NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    status VARCHAR(20) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS bookings_archive_booker_idx ON bookings_archive (booker_id, start_date);
+CREATE INDEX IF NOT EXISTS bookings_archive_item_idx ON bookings_archive (item_id, start_date);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_idx ON bookings (booker_id, start_date);
+CREATE INDEX IF NOT EXISTS bookings_item_idx ON bookings (item_id, start_date);
+CREATE INDEX IF NOT EXISTS bookings_end_idx ON bookings (end_date);
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE bookings_archive ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
+
+CREATE OR REPLACE VIEW booking_history AS
+    SELECT id, start_date, end_date, item_id, booker_id, status, version FROM bookings
+    UNION ALL
+    SELECT id, start_date, end_date, item_id, booker_id, status, version FROM bookings_archive;
+
+CREATE TABLE IF NOT EXISTS item_booking_summary (
+    item_id INTEGER PRIMARY KEY REFERENCES items(id) ON DELETE CASCADE,
+    last_booking_id INTEGER,
+    last_start_date TIMESTAMP WITHOUT TIME ZONE,
+    last_end_date TIMESTAMP WITHOUT TIME ZONE,
+    next_booking_id INTEGER,
+    next_start_date TIMESTAMP WITHOUT TIME ZONE,
+    next_end_date TIMESTAMP WITHOUT TIME ZONE,
+    refresh_at TIMESTAMP WITHOUT TIME ZONE
+);
+
+ALTER TABLE item_booking_summary ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
+
+INSERT INTO item_booking_summary (item_id, refresh_at)
+    SELECT id, LOCALTIMESTAMP FROM items
+    WHERE id NOT IN (SELECT item_id FROM item_booking_summary);
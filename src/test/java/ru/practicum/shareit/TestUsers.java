@@ -0,0 +1,20 @@
+package ru.practicum.shareit;
+
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserCreateDto;
+
+import java.util.UUID;
+
+public final class TestUsers {
+    private TestUsers() {
+    }
+
+    public static String uniqueName() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public static Integer createUser(final UserService userService) {
+        String name = uniqueName();
+        return userService.createUser(new UserCreateDto(name, name + "@mail.ru")).id();
+    }
+}
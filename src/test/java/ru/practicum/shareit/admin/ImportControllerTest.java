@@ -0,0 +1,83 @@
+package ru.practicum.shareit.admin;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.admin.dto.ImportErrorDto;
+import ru.practicum.shareit.admin.dto.ImportReportDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserResponseDto;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.TestUsers.uniqueName;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ImportControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void importUsersAndItemsShouldReportEachFailedLine() throws Exception {
+        String prefix = uniqueName();
+        ImportReportDto users = importLines("/admin/import/users", String.join("\n",
+                String.format("{\"name\": \"%s-1\", \"email\": \"%s-1@mail.ru\"}", prefix, prefix),
+                "",
+                "{\"name\": ",
+                String.format("{\"name\": \"%s-2\", \"email\": \"not an email\"}", prefix),
+                String.format("{\"name\": \"%s-3\", \"email\": \"%s-1@mail.ru\"}", prefix, prefix),
+                String.format("{\"name\": \"%s-4\", \"email\": \"%s-4@mail.ru\"}", prefix, prefix)));
+
+        assertThat(users.lines()).isEqualTo(5);
+        assertThat(users.imported()).isEqualTo(2);
+        assertThat(users.failed()).isEqualTo(3);
+        assertThat(users.errors()).extracting(ImportErrorDto::line).containsExactly(3, 4, 5);
+        assertThat(users.errors().get(2).error()).isEqualTo(String.format("Email already exists: %s-1@mail.ru",
+                prefix));
+
+        Integer ownerId = userService.getUsers(null, 1000).content().stream()
+                .filter(user -> user.email().equals(prefix + "-4@mail.ru"))
+                .map(UserResponseDto::id)
+                .findFirst()
+                .orElseThrow();
+        ImportReportDto items = importLines("/admin/import/items", String.join("\n",
+                String.format("{\"ownerId\": %d, \"name\": \"%s дрель\", \"description\": \"Дрель\", "
+                        + "\"available\": true}", ownerId, prefix),
+                String.format("{\"ownerId\": %d, \"name\": \"%s пила\", \"description\": \"Пила\", "
+                        + "\"available\": false}", ownerId, prefix),
+                String.format("{\"ownerId\": %d, \"name\": \"Отвертка\", \"description\": \"Отвертка\", "
+                        + "\"available\": true}", Integer.MAX_VALUE)));
+
+        assertThat(items.imported()).isEqualTo(2);
+        assertThat(items.errors()).containsExactly(new ImportErrorDto(3,
+                String.format("User not found: id = %d", Integer.MAX_VALUE)));
+        List<ItemResponseDto> owned = itemService.getItemsByUserId(ownerId, 0, 10, null).content();
+        assertThat(owned).extracting(ItemResponseDto::name).containsExactly(prefix + " дрель", prefix + " пила");
+        assertThat(itemService.getItemById(ownerId, owned.getFirst().id()).commentCount()).isZero();
+        assertThat(itemService.getItemsByText(ownerId, prefix, null, null, null, 10).content())
+                .extracting(ItemResponseDto::id).containsExactly(owned.getFirst().id());
+    }
+
+    private ImportReportDto importLines(String path, String body) throws Exception {
+        String response = mockMvc.perform(post(path).contentType(MediaType.APPLICATION_NDJSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, ImportReportDto.class);
+    }
+}
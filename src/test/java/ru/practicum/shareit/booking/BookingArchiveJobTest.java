@@ -0,0 +1,58 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.comment.dto.CommentCreateDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.TestUsers.createUser;
+
+@SpringBootTest
+class BookingArchiveJobTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingArchiveJob bookingArchiveJob;
+
+    @Test
+    void archiveEndedBookingsShouldKeepHistoryVisible() {
+        Integer ownerId = createUser(userService);
+        Integer bookerId = createUser(userService);
+        Integer itemId = itemService.createItem(ownerId, new ItemCreateDto("Item", "Description", true)).id();
+        LocalDateTime origin = LocalDateTime.now().plusDays(1).withNano(0);
+        Integer old = bookingService.createBooking(bookerId,
+                new BookingCreateDto(itemId, origin, origin.plusHours(1))).id();
+        Integer live = bookingService.createBooking(bookerId,
+                new BookingCreateDto(itemId, origin.plusHours(2), origin.plusHours(3))).id();
+        Booking booking = bookingRepository.findById(old).orElseThrow();
+        booking.setStart(origin.minusYears(2));
+        booking.setEnd(origin.minusYears(2).plusHours(1));
+        bookingRepository.save(booking);
+
+        bookingArchiveJob.archiveEndedBookings();
+
+        assertThat(bookingRepository.existsById(old)).isFalse();
+        assertThat(bookingRepository.existsById(live)).isTrue();
+        assertThat(bookingService.getBookingsByUserId(bookerId, "ALL", 0, 10, null).content())
+                .extracting(BookingResponseDto::id).containsExactly(live, old);
+        assertThat(bookingService.getBookingsByOwnerId(ownerId, "PAST", 0, 10, null).content())
+                .extracting(BookingResponseDto::id).containsExactly(old);
+        assertThat(bookingService.getBookingById(bookerId, old).status()).isEqualTo(BookingStatus.WAITING);
+        assertThat(itemService.createComment(bookerId, itemId, new CommentCreateDto("Good item")).text())
+                .isEqualTo("Good item");
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.validation.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.TestUsers.createUser;
+
+@Slf4j
+@SpringBootTest
+class BookingConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int ITEMS = 32;
+    private static final int BOOKERS = 8;
+    private static final int ATTEMPTS = 2000;
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void concurrentBookingsShouldNeverOverlap() throws Exception {
+        Integer ownerId = createUser(userService);
+        List<Integer> bookerIds = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            bookerIds.add(createUser(userService));
+        }
+        List<Integer> itemIds = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            itemIds.add(itemService.createItem(ownerId, new ItemCreateDto("Item " + i, "Description", true)).id());
+        }
+
+        LocalDateTime origin = LocalDateTime.now().plusDays(1).withNano(0);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            Random random = new Random(i);
+            Integer itemId = itemIds.get(random.nextInt(ITEMS));
+            Integer bookerId = bookerIds.get(random.nextInt(BOOKERS));
+            LocalDateTime start = origin.plusHours(random.nextInt(1000));
+            LocalDateTime end = start.plusHours(1 + random.nextInt(12));
+            futures.add(executor.submit(() -> {
+                try {
+                    bookingService.createBooking(bookerId, new BookingCreateDto(itemId, start, end));
+                    created.incrementAndGet();
+                } catch (ValidationException e) {
+                    rejected.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+        executor.shutdown();
+        log.info("Booking stress test: {} attempts on {} items in {} ms ({} req/s), {} created, {} rejected",
+                ATTEMPTS, ITEMS, elapsedMillis, ATTEMPTS * 1000L / elapsedMillis, created.get(), rejected.get());
+
+        Set<Integer> itemIdSet = Set.copyOf(itemIds);
+        Map<Integer, List<Booking>> bookingsByItem = bookingRepository.findAll().stream()
+                .filter(booking -> itemIdSet.contains(booking.getItem().getId()))
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+
+        assertThat(created.get() + rejected.get()).isEqualTo(ATTEMPTS);
+        assertThat(created.get()).isPositive();
+        assertThat(rejected.get()).isPositive();
+        assertThat(bookingsByItem.values().stream().mapToInt(List::size).sum()).isEqualTo(created.get());
+        bookingsByItem.forEach((itemId, bookings) -> {
+            List<Booking> sorted = bookings.stream().sorted(Comparator.comparing(Booking::getStart)).toList();
+            for (int i = 1; i < sorted.size(); i++) {
+                assertThat(sorted.get(i).getStart()).isAfterOrEqualTo(sorted.get(i - 1).getEnd());
+            }
+        });
+    }
+}
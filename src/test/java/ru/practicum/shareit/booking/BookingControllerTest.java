@@ -0,0 +1,150 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.ShareItConstants.REQ_HEAD_USER_ID;
+import static ru.practicum.shareit.TestUsers.createUser;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void getBookingByIdShouldAnswerNotModifiedUntilStatusChanges() throws Exception {
+        Integer ownerId = createUser(userService);
+        Integer bookerId = createUser(userService);
+        Integer itemId = itemService.createItem(ownerId, new ItemCreateDto("Item", "Description", true)).id();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Integer bookingId = bookingService.createBooking(bookerId,
+                new BookingCreateDto(itemId, start, start.plusHours(1))).id();
+
+        String etag = mockMvc.perform(get("/bookings/{bookingId}", bookingId).header(REQ_HEAD_USER_ID, bookerId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/bookings/{bookingId}", bookingId).header(REQ_HEAD_USER_ID, bookerId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        bookingService.updateBookingStatuses(ownerId, List.of(new BookingStatusUpdateDto(bookingId, true)));
+
+        mockMvc.perform(get("/bookings/{bookingId}", bookingId).header(REQ_HEAD_USER_ID, bookerId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.status").value("APPROVED"));
+    }
+
+    @Test
+    void updateBookingStatusShouldApproveAndRefreshItemSummary() throws Exception {
+        Integer ownerId = createUser(userService);
+        Integer bookerId = createUser(userService);
+        Integer itemId = itemService.createItem(ownerId, new ItemCreateDto("Item", "Description", true)).id();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Integer bookingId = bookingService.createBooking(bookerId,
+                new BookingCreateDto(itemId, start, start.plusHours(1))).id();
+
+        mockMvc.perform(patch("/bookings/{bookingId}", bookingId).header(REQ_HEAD_USER_ID, ownerId)
+                        .param("approved", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("APPROVED"));
+
+        mockMvc.perform(get("/items/{itemId}", itemId).header(REQ_HEAD_USER_ID, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextBooking.id").value(bookingId));
+    }
+
+    @Test
+    void updateBookingStatusesShouldApproveAndRefreshItemSummary() throws Exception {
+        Integer ownerId = createUser(userService);
+        Integer bookerId = createUser(userService);
+        Integer itemId = itemService.createItem(ownerId, new ItemCreateDto("Item", "Description", true)).id();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Integer bookingId = bookingService.createBooking(bookerId,
+                new BookingCreateDto(itemId, start, start.plusHours(1))).id();
+
+        mockMvc.perform(patch("/bookings/status").header(REQ_HEAD_USER_ID, ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                new BookingStatusUpdateDto(bookingId, true)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].booking.status").value("APPROVED"))
+                .andExpect(jsonPath("$[0].error").doesNotExist());
+
+        mockMvc.perform(get("/items/{itemId}", itemId).header(REQ_HEAD_USER_ID, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextBooking.id").value(bookingId));
+    }
+
+    @Test
+    void exportBookingsShouldStreamBookerAndOwnerHistory() throws Exception {
+        Integer ownerId = createUser(userService);
+        Integer bookerId = createUser(userService);
+        Integer itemId = itemService.createItem(ownerId, new ItemCreateDto("Item", "Description", true)).id();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Integer> bookingIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            bookingIds.addFirst(bookingService.createBooking(bookerId,
+                    new BookingCreateDto(itemId, start.plusDays(i), start.plusDays(i).plusHours(1))).id());
+        }
+
+        assertThat(export("/bookings/export", bookerId)).extracting(BookingResponseDto::id)
+                .containsExactlyElementsOf(bookingIds);
+        assertThat(export("/bookings/owner/export", ownerId)).extracting(BookingResponseDto::id)
+                .containsExactlyElementsOf(bookingIds);
+        assertThat(export("/bookings/owner/export", bookerId)).isEmpty();
+
+        mockMvc.perform(get("/bookings/export").header(REQ_HEAD_USER_ID, Integer.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    private List<BookingResponseDto> export(String path, Integer userId) throws Exception {
+        MvcResult result = mockMvc.perform(get(path).header(REQ_HEAD_USER_ID, userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofHours(1).toMillis());
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readerFor(BookingResponseDto.class).<BookingResponseDto>readValues(body).readAll();
+    }
+}
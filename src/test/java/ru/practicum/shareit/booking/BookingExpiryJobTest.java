@@ -0,0 +1,67 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static ru.practicum.shareit.TestUsers.createUser;
+
+@SpringBootTest(properties = "shareit.booking.expiry.batch-size=1")
+class BookingExpiryJobTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingIntervalIndex bookingIntervalIndex;
+    @Autowired
+    private BookingExpiryJob bookingExpiryJob;
+
+    @Test
+    void expireWaitingBookingsShouldCancelStartedBookings() {
+        Integer ownerId = createUser(userService);
+        Integer bookerId = createUser(userService);
+        Integer itemId = itemService.createItem(ownerId, new ItemCreateDto("Item", "Description", true)).id();
+        LocalDateTime origin = LocalDateTime.now().plusDays(1).withNano(0);
+        Integer first = bookingService.createBooking(bookerId,
+                new BookingCreateDto(itemId, origin, origin.plusHours(1))).id();
+        Integer second = bookingService.createBooking(bookerId,
+                new BookingCreateDto(itemId, origin.plusHours(2), origin.plusHours(3))).id();
+        Integer future = bookingService.createBooking(bookerId,
+                new BookingCreateDto(itemId, origin.plusHours(4), origin.plusHours(5))).id();
+        moveToPast(first);
+        moveToPast(second);
+
+        bookingExpiryJob.expireWaitingBookings();
+
+        assertThat(bookingRepository.findAllById(List.of(first, second, future)))
+                .extracting(Booking::getId, Booking::getStatus)
+                .containsExactlyInAnyOrder(
+                        tuple(first, BookingStatus.CANCELED),
+                        tuple(second, BookingStatus.CANCELED),
+                        tuple(future, BookingStatus.WAITING));
+        assertThat(bookingIntervalIndex.overlaps(itemId, LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusHours(1))).isFalse();
+        assertThat(bookingIntervalIndex.overlaps(itemId, origin.plusHours(4), origin.plusHours(5))).isTrue();
+    }
+
+    private void moveToPast(Integer bookingId) {
+        Booking booking = bookingRepository.findById(bookingId).orElseThrow();
+        booking.setStart(LocalDateTime.now().minusHours(2).withNano(0));
+        booking.setEnd(LocalDateTime.now().plusMinutes(30).withNano(0));
+        bookingIntervalIndex.put(bookingRepository.save(booking));
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
+import ru.practicum.shareit.item.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingIntervalIndexTest {
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private static final Integer ITEM_ID = 1;
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final BookingIntervalIndex bookingIntervalIndex = new BookingIntervalIndex(bookingRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(bookingRepository.findByStatusInAndEndAfter(anyList(), any())).thenReturn(List.of(
+                booking(1, 10, 20, BookingStatus.APPROVED),
+                booking(2, 15, 25, BookingStatus.WAITING),
+                booking(3, 40, 50, BookingStatus.APPROVED)
+        ));
+        bookingIntervalIndex.rebuild();
+    }
+
+    @Test
+    void getFreeSlotsShouldMergeBusyIntervals() {
+        assertThat(bookingIntervalIndex.getFreeSlots(ITEM_ID, at(0), at(60))).containsExactly(
+                new TimeSlotDto(at(0), at(10)),
+                new TimeSlotDto(at(25), at(40)),
+                new TimeSlotDto(at(50), at(60)));
+        assertThat(bookingIntervalIndex.getFreeSlots(ITEM_ID, at(12), at(45))).containsExactly(
+                new TimeSlotDto(at(25), at(40)));
+        assertThat(bookingIntervalIndex.getFreeSlots(ITEM_ID + 1, at(0), at(5))).containsExactly(
+                new TimeSlotDto(at(0), at(5)));
+    }
+
+    @Test
+    void getBusyItemIdsShouldKeepOnlyOverlappingItems() {
+        assertThat(bookingIntervalIndex.getBusyItemIds(List.of(ITEM_ID, ITEM_ID + 1), at(24), at(30)))
+                .containsExactly(ITEM_ID);
+        assertThat(bookingIntervalIndex.getBusyItemIds(List.of(ITEM_ID, ITEM_ID + 1), at(25), at(40))).isEmpty();
+    }
+
+    @Test
+    void putShouldDropRejectedBooking() {
+        bookingIntervalIndex.put(booking(3, 40, 50, BookingStatus.REJECTED));
+
+        assertThat(bookingIntervalIndex.overlaps(ITEM_ID, at(45), at(46))).isFalse();
+        assertThat(bookingIntervalIndex.getFreeSlots(ITEM_ID, at(30), at(60))).containsExactly(
+                new TimeSlotDto(at(30), at(60)));
+    }
+
+    @Test
+    void putShouldMoveBookingAndRemoveAllShouldDropItById() {
+        bookingIntervalIndex.put(booking(3, 30, 35, BookingStatus.APPROVED));
+        bookingIntervalIndex.removeAll(List.of(1, 2));
+
+        assertThat(bookingIntervalIndex.getFreeSlots(ITEM_ID, at(0), at(60))).containsExactly(
+                new TimeSlotDto(at(0), at(30)),
+                new TimeSlotDto(at(35), at(60)));
+    }
+
+    @Test
+    void pruneEndedBeforeShouldDropFinishedBookingsOnly() {
+        assertThat(bookingIntervalIndex.pruneEndedBefore(at(25))).isEqualTo(2);
+        assertThat(bookingIntervalIndex.pruneEndedBefore(at(25))).isZero();
+
+        assertThat(bookingIntervalIndex.overlaps(ITEM_ID, at(10), at(25))).isFalse();
+        assertThat(bookingIntervalIndex.overlaps(ITEM_ID, at(45), at(46))).isTrue();
+
+        assertThat(bookingIntervalIndex.pruneEndedBefore(at(50))).isEqualTo(1);
+        bookingIntervalIndex.put(booking(4, 60, 70, BookingStatus.APPROVED));
+        assertThat(bookingIntervalIndex.overlaps(ITEM_ID, at(65), at(66))).isTrue();
+    }
+
+    private static Booking booking(Integer id, int start, int end, BookingStatus status) {
+        Item item = new Item();
+        item.setId(ITEM_ID);
+        return new Booking(id, at(start), at(end), item, null, status, 0);
+    }
+
+    private static LocalDateTime at(int hours) {
+        return ORIGIN.plusHours(hours);
+    }
+}
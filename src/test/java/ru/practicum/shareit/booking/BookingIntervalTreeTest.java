@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingIntervalTreeTest {
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private final BookingIntervalTree tree = new BookingIntervalTree();
+
+    @Test
+    void overlapsShouldTreatIntervalsAsHalfOpen() {
+        tree.insert(interval(1, 10, 20));
+
+        assertThat(tree.overlaps(at(0), at(9))).isFalse();
+        assertThat(tree.overlaps(at(0), at(10))).isFalse();
+        assertThat(tree.overlaps(at(0), at(11))).isTrue();
+        assertThat(tree.overlaps(at(19), at(30))).isTrue();
+        assertThat(tree.overlaps(at(20), at(30))).isFalse();
+        assertThat(tree.overlaps(at(12), at(14))).isTrue();
+        assertThat(tree.overlaps(at(0), at(30))).isTrue();
+    }
+
+    @Test
+    void removeShouldDropInterval() {
+        tree.insert(interval(1, 10, 20));
+        tree.insert(interval(2, 30, 40));
+        tree.remove(interval(1, 10, 20));
+
+        assertThat(tree.size()).isEqualTo(1);
+        assertThat(tree.overlaps(at(10), at(20))).isFalse();
+        assertThat(tree.overlaps(at(35), at(36))).isTrue();
+    }
+
+    @Test
+    void queriesShouldMatchLinearScan() {
+        Random random = new Random(42);
+        List<BookingIntervalTree.Interval> intervals = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            int start = random.nextInt(10_000);
+            BookingIntervalTree.Interval interval = interval(i, start, start + random.nextInt(50));
+            intervals.add(interval);
+            tree.insert(interval);
+        }
+        for (int i = 0; i < 1000; i++) {
+            BookingIntervalTree.Interval removed = intervals.remove(random.nextInt(intervals.size()));
+            tree.remove(removed);
+        }
+
+        assertThat(tree.size()).isEqualTo(intervals.size());
+        for (int i = 0; i < 500; i++) {
+            int start = random.nextInt(10_000);
+            LocalDateTime from = at(start);
+            LocalDateTime to = at(start + random.nextInt(100));
+            List<BookingIntervalTree.Interval> expected = intervals.stream()
+                    .filter(interval -> interval.overlaps(from, to))
+                    .sorted(Comparator.comparing(BookingIntervalTree.Interval::start)
+                            .thenComparing(BookingIntervalTree.Interval::bookingId))
+                    .toList();
+
+            assertThat(tree.overlaps(from, to)).isEqualTo(!expected.isEmpty());
+            assertThat(tree.overlapping(from, to)).containsExactlyElementsOf(expected);
+        }
+    }
+
+    private static BookingIntervalTree.Interval interval(int bookingId, int start, int end) {
+        return new BookingIntervalTree.Interval(bookingId, at(start), at(end));
+    }
+
+    private static LocalDateTime at(int hours) {
+        return ORIGIN.plusHours(hours);
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.page.CursorPage;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.TestUsers.createUser;
+
+@SpringBootTest
+class BookingPaginationTest {
+    private static final int BOOKING_COUNT = 5;
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+
+    private Integer ownerId;
+    private Integer bookerId;
+    private final List<Integer> bookingIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ownerId = createUser(userService);
+        bookerId = createUser(userService);
+        Integer itemId = itemService.createItem(ownerId, new ItemCreateDto("Item", "Description", true)).id();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < BOOKING_COUNT; i++) {
+            BookingCreateDto bookingCreateDto = new BookingCreateDto(itemId,
+                    start.plusDays(2L * i), start.plusDays(2L * i + 1));
+            bookingIds.addFirst(bookingService.createBooking(bookerId, bookingCreateDto).id());
+        }
+    }
+
+    @Test
+    void offsetShouldSkipRows() {
+        CursorPage<BookingResponseDto> page = bookingService.getBookingsByUserId(bookerId, "ALL", 1, 2, null);
+
+        assertThat(page.content()).extracting(BookingResponseDto::id).containsExactly(bookingIds.get(1),
+                bookingIds.get(2));
+        assertThat(page.nextCursor()).isNotNull();
+    }
+
+    @Test
+    void cursorShouldContinueAfterLastRow() {
+        List<Integer> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<BookingResponseDto> page = bookingService.getBookingsByOwnerId(ownerId, "FUTURE", 0, 2,
+                    cursor);
+            page.content().forEach(booking -> ids.add(booking.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(ids).containsExactlyElementsOf(bookingIds);
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.page.CursorPage;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.TestUsers.createUser;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BookingQueryCountTest {
+    private static final int BOOKING_COUNT = 5;
+    // One user lookup and one listing query, whatever the page size
+    private static final long LISTING_STATEMENTS = 2;
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Integer ownerId;
+    private Integer bookerId;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = createUser(userService);
+        bookerId = createUser(userService);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < BOOKING_COUNT; i++) {
+            // Distinct items, so every booking references another lazy item
+            Integer itemId = itemService.createItem(ownerId, new ItemCreateDto("Item " + i, "Description", true)).id();
+            bookingService.createBooking(bookerId, new BookingCreateDto(itemId, start, start.plusHours(1)));
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingState.class, names = {"ALL", "FUTURE", "WAITING"})
+    void getBookingsByOwnerIdShouldUseConstantStatements(BookingState state) {
+        CursorPage<BookingResponseDto> page = bookingService.getBookingsByOwnerId(ownerId, state.name(), 0,
+                BOOKING_COUNT, null);
+
+        assertThat(page.content()).hasSize(BOOKING_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(LISTING_STATEMENTS);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingState.class, names = {"ALL", "FUTURE", "WAITING"})
+    void getBookingsByUserIdShouldUseConstantStatements(BookingState state) {
+        CursorPage<BookingResponseDto> page = bookingService.getBookingsByUserId(bookerId, state.name(), 0,
+                BOOKING_COUNT, null);
+
+        assertThat(page.content()).hasSize(BOOKING_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(LISTING_STATEMENTS);
+    }
+}
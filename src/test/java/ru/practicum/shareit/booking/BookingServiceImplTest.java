@@ -0,0 +1,133 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingStatsDto;
+import ru.practicum.shareit.booking.dto.BookingStatusResultDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.TestUsers.createUser;
+
+@SpringBootTest
+class BookingServiceImplTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Integer ownerId;
+    private Integer bookerId;
+    private Integer itemId;
+    private LocalDateTime origin;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = createUser(userService);
+        bookerId = createUser(userService);
+        itemId = itemService.createItem(ownerId, new ItemCreateDto("Item", "Description", true)).id();
+        origin = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    @Test
+    void createBookingsShouldReportEachEntry() {
+        List<BookingBatchResultDto> results = bookingService.createBookings(bookerId, List.of(
+                new BookingCreateDto(itemId, at(0), at(10)),
+                new BookingCreateDto(itemId, at(5), at(15)),
+                new BookingCreateDto(itemId, at(20), at(30)),
+                new BookingCreateDto(itemId + 1000, at(0), at(10)),
+                new BookingCreateDto(itemId, at(40), at(35))
+        ));
+
+        assertThat(results).extracting(BookingBatchResultDto::index).containsExactly(0, 1, 2, 3, 4);
+        assertThat(results).extracting(BookingBatchResultDto::error).containsExactly(
+                null,
+                "Booking time in busy range",
+                null,
+                String.format("Item not found: id = %d", itemId + 1000),
+                "The start date must be before the end date.");
+        assertThat(bookingRepository.findById(results.get(2).booking().id()))
+                .hasValueSatisfying(booking -> assertThat(booking.getStart()).isEqualTo(at(20)));
+        assertThat(bookingService.createBookings(bookerId, List.of(new BookingCreateDto(itemId, at(25), at(26)))))
+                .extracting(BookingBatchResultDto::error).containsExactly("Booking time in busy range");
+    }
+
+    @Test
+    void updateBookingStatusesShouldReportEachEntry() {
+        Integer first = bookingService.createBooking(bookerId, new BookingCreateDto(itemId, at(0), at(10))).id();
+        Integer second = bookingService.createBooking(bookerId, new BookingCreateDto(itemId, at(20), at(30))).id();
+
+        List<BookingStatusResultDto> results = bookingService.updateBookingStatuses(ownerId, List.of(
+                new BookingStatusUpdateDto(first, true),
+                new BookingStatusUpdateDto(second, false),
+                new BookingStatusUpdateDto(first, false),
+                new BookingStatusUpdateDto(Integer.MAX_VALUE, true)
+        ));
+
+        assertThat(results).extracting(BookingStatusResultDto::error).containsExactly(
+                null,
+                null,
+                "Booking has already been processed",
+                String.format("Booking not found: id = %d", Integer.MAX_VALUE));
+        assertThat(bookingRepository.findById(first)).get().extracting(Booking::getStatus)
+                .isEqualTo(BookingStatus.APPROVED);
+        assertThat(bookingRepository.findById(second)).get().extracting(Booking::getStatus)
+                .isEqualTo(BookingStatus.REJECTED);
+        assertThat(bookingService.updateBookingStatuses(bookerId, List.of(new BookingStatusUpdateDto(first, true))))
+                .extracting(BookingStatusResultDto::error).containsExactly("Only owners allowed");
+        assertThat(bookingService.createBooking(bookerId, new BookingCreateDto(itemId, at(21), at(22))).id())
+                .isNotNull();
+    }
+
+    @Test
+    void getBookingStatsShouldMatchListings() {
+        Integer current = bookingService.createBooking(bookerId, new BookingCreateDto(itemId, at(0), at(10))).id();
+        Integer rejected = bookingService.createBooking(bookerId, new BookingCreateDto(itemId, at(20), at(30))).id();
+        Integer approved = bookingService.createBooking(bookerId, new BookingCreateDto(itemId, at(40), at(50))).id();
+        bookingService.createBooking(bookerId, new BookingCreateDto(itemId, at(60), at(70)));
+        bookingService.updateBookingStatuses(ownerId, List.of(
+                new BookingStatusUpdateDto(rejected, false),
+                new BookingStatusUpdateDto(approved, true)));
+        Booking booking = bookingRepository.findById(current).orElseThrow();
+        booking.setStart(origin.minusDays(2));
+        booking.setEnd(origin.minusHours(1));
+        bookingRepository.save(booking);
+
+        BookingStatsDto stats = bookingService.getBookingStatsByUserId(bookerId);
+
+        assertThat(stats).isEqualTo(new BookingStatsDto(4L, 1L, 0L, 3L, 2L, 1L));
+        assertThat(bookingService.getBookingStatsByOwnerId(ownerId)).isEqualTo(stats);
+        assertThat(List.of(stats.all(), stats.current(), stats.past(), stats.future(), stats.waiting(),
+                stats.rejected())).containsExactly(
+                countBookings(BookingState.ALL),
+                countBookings(BookingState.CURRENT),
+                countBookings(BookingState.PAST),
+                countBookings(BookingState.FUTURE),
+                countBookings(BookingState.WAITING),
+                countBookings(BookingState.REJECTED));
+        assertThat(bookingService.getBookingStatsByUserId(ownerId)).isEqualTo(new BookingStatsDto(0L, 0L, 0L, 0L,
+                0L, 0L));
+    }
+
+    private long countBookings(BookingState state) {
+        return bookingService.getBookingsByUserId(bookerId, state.name(), 0, 100, null).content().size();
+    }
+
+    private LocalDateTime at(int hours) {
+        return origin.plusHours(hours);
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingShortResponseDto;
+import ru.practicum.shareit.booking.dto.BookingStatusUpdateDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+import static ru.practicum.shareit.TestUsers.createUser;
+
+@SpringBootTest
+class ItemBookingSummaryServiceTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemBookingSummaryService itemBookingSummaryService;
+    @SpyBean
+    private ItemBookingSummaryRepository itemBookingSummaryRepository;
+
+    @Test
+    void itemViewsShouldFollowApprovalsAndTime() throws InterruptedException {
+        Integer ownerId = createUser(userService);
+        Integer bookerId = createUser(userService);
+        Integer itemId = itemService.createItem(ownerId, new ItemCreateDto("Item", "Description", true)).id();
+        LocalDateTime start = LocalDateTime.now().plusSeconds(1);
+        Integer soon = bookingService.createBooking(bookerId,
+                new BookingCreateDto(itemId, start, start.plusSeconds(1))).id();
+        Integer later = bookingService.createBooking(bookerId,
+                new BookingCreateDto(itemId, start.plusDays(1), start.plusDays(2))).id();
+        Integer rejected = bookingService.createBooking(bookerId,
+                new BookingCreateDto(itemId, start.plusHours(1), start.plusHours(2))).id();
+
+        assertThat(itemService.getItemById(ownerId, itemId).nextBooking()).isNull();
+
+        bookingService.updateBookingStatuses(ownerId, List.of(
+                new BookingStatusUpdateDto(soon, true),
+                new BookingStatusUpdateDto(rejected, false)));
+        bookingService.updateBookingStatuses(ownerId, List.of(new BookingStatusUpdateDto(later, true)));
+
+        ItemResponseDto item = itemService.getItemById(ownerId, itemId);
+        assertThat(item.lastBooking()).isNull();
+        assertThat(item.nextBooking()).extracting(BookingShortResponseDto::id).isEqualTo(soon);
+        assertThat(itemService.getItemById(bookerId, itemId).nextBooking()).isNull();
+
+        Thread.sleep(2500);
+
+        assertThat(itemService.getItemsByUserId(ownerId, 0, 10, null).content()).singleElement().satisfies(view -> {
+            assertThat(view.lastBooking()).extracting(BookingShortResponseDto::id).isEqualTo(soon);
+            assertThat(view.nextBooking()).extracting(BookingShortResponseDto::id).isEqualTo(later);
+        });
+    }
+
+    @Test
+    void getSummariesShouldWriteStaleRowOnlyIfUnchanged() {
+        Integer ownerId = createUser(userService);
+        Integer itemId = itemService.createItem(ownerId, new ItemCreateDto("Item", "Description", true)).id();
+        ItemBookingSummary row = itemBookingSummaryRepository.findById(itemId).orElseThrow();
+        row.setRefreshAt(LocalDateTime.now().minusMinutes(1));
+        ItemBookingSummary stale = itemBookingSummaryRepository.save(row);
+
+        ItemBookingSummary summary = itemBookingSummaryService.getSummaries(List.of(itemId)).get(itemId);
+
+        assertThat(summary.getRefreshAt()).isNull();
+        assertThat(itemBookingSummaryRepository.findById(itemId).orElseThrow())
+                .extracting(ItemBookingSummary::getRefreshAt, ItemBookingSummary::getVersion)
+                .containsExactly(null, stale.getVersion() + 1);
+        assertThat(itemBookingSummaryRepository.updateUnchanged(List.of(stale))).isEmpty();
+    }
+
+    @Test
+    void getSummariesShouldReturnStoredRowWhenWriteOutcomeIsUnknown() {
+        Integer ownerId = createUser(userService);
+        Integer itemId = itemService.createItem(ownerId, new ItemCreateDto("Item", "Description", true)).id();
+        ItemBookingSummary row = itemBookingSummaryRepository.findById(itemId).orElseThrow();
+        row.setRefreshAt(LocalDateTime.now().minusMinutes(1).withNano(0));
+        itemBookingSummaryRepository.save(row);
+        doReturn(Set.of()).when(itemBookingSummaryRepository).updateUnchanged(anyCollection());
+
+        ItemBookingSummary summary = itemBookingSummaryService.getSummaries(List.of(itemId)).get(itemId);
+
+        assertThat(summary).isEqualTo(itemBookingSummaryRepository.findById(itemId).orElseThrow());
+        assertThat(summary.getRefreshAt()).isNotNull();
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingStatusUpdateDtoTest {
+    private static final Integer CORRECT_BOOKING_ID = 1;
+    private static final Boolean CORRECT_APPROVED = true;
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    void allCorrect() {
+        final BookingStatusUpdateDto dto = new BookingStatusUpdateDto(CORRECT_BOOKING_ID, CORRECT_APPROVED);
+        final Set<ConstraintViolation<BookingStatusUpdateDto>> violations = validator.validate(dto);
+
+        assertThat(violations.isEmpty()).isTrue();
+    }
+
+    @Test
+    void notCorrectBookingIdShouldBeNull() {
+        final BookingStatusUpdateDto dto = new BookingStatusUpdateDto(null, CORRECT_APPROVED);
+        final Set<ConstraintViolation<BookingStatusUpdateDto>> violations = validator.validate(dto);
+
+        assertThat(violations).extracting("propertyPath").extracting(Object::toString).containsOnly("bookingId");
+    }
+
+    @Test
+    void notCorrectBookingIdShouldBeLessMin() {
+        final BookingStatusUpdateDto dto = new BookingStatusUpdateDto(0, CORRECT_APPROVED);
+        final Set<ConstraintViolation<BookingStatusUpdateDto>> violations = validator.validate(dto);
+
+        assertThat(violations).extracting("propertyPath").extracting(Object::toString).containsOnly("bookingId");
+    }
+
+    @Test
+    void notCorrectApprovedShouldBeNull() {
+        final BookingStatusUpdateDto dto = new BookingStatusUpdateDto(CORRECT_BOOKING_ID, null);
+        final Set<ConstraintViolation<BookingStatusUpdateDto>> violations = validator.validate(dto);
+
+        assertThat(violations).extracting("propertyPath").extracting(Object::toString).containsOnly("approved");
+    }
+}
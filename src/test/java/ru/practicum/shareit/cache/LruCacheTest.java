@@ -0,0 +1,149 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LruCacheTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock();
+    private final LruCache<Integer, String> cache = new LruCache<>("test", 2, Duration.ofMinutes(5), meterRegistry,
+            clock);
+
+    @Test
+    void getShouldCountHitsAndMisses() {
+        cache.put(1, "one", cache.generation());
+
+        assertThat(cache.get(1)).isEqualTo("one");
+        assertThat(cache.get(2)).isNull();
+        assertThat(cache.peek(2)).isNull();
+        assertThat(meterRegistry.get("shareit.cache.gets").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("shareit.cache.gets").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void putShouldEvictLeastRecentlyUsed() {
+        cache.put(1, "one", cache.generation());
+        cache.put(2, "two", cache.generation());
+        cache.get(1);
+        cache.put(3, "three", cache.generation());
+
+        assertThat(cache.peek(1)).isEqualTo("one");
+        assertThat(cache.peek(2)).isNull();
+        assertThat(cache.peek(3)).isEqualTo("three");
+        assertThat(meterRegistry.get("shareit.cache.evictions").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("shareit.cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void entriesShouldExpireAfterTtlOrOwnExpiry() {
+        cache.put(1, "one", cache.generation());
+        cache.put(2, "two", clock.now().plusMinutes(1), cache.generation());
+
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(cache.peek(1)).isEqualTo("one");
+        assertThat(cache.peek(2)).isNull();
+
+        clock.advance(Duration.ofMinutes(4));
+        assertThat(cache.peek(1)).isNull();
+    }
+
+    @Test
+    void putShouldDropValueLoadedBeforeInvalidation() {
+        long loadedAt = cache.generation();
+        cache.invalidate(1);
+        cache.put(1, "stale", loadedAt);
+
+        assertThat(cache.peek(1)).isNull();
+
+        cache.put(1, "fresh", cache.generation());
+        cache.invalidateAll();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void putShouldKeepValueOfOtherKeyLoadedBeforeInvalidation() {
+        long loadedAt = cache.generation();
+        cache.invalidate(2);
+        cache.put(1, "one", loadedAt);
+
+        assertThat(cache.peek(1)).isEqualTo("one");
+
+        loadedAt = cache.generation();
+        cache.invalidateAll();
+        cache.put(1, "stale", loadedAt);
+        assertThat(cache.peek(1)).isNull();
+    }
+
+    @Test
+    void putShouldDropValueLoadedBeforePrunedInvalidation() {
+        long loadedAt = cache.generation();
+        cache.invalidate(1);
+        cache.invalidate(2);
+        cache.invalidate(3);
+        cache.put(1, "stale", loadedAt);
+        cache.put(4, "four", loadedAt);
+
+        assertThat(cache.peek(1)).isNull();
+        assertThat(cache.peek(4)).isNull();
+    }
+
+    @Test
+    void concurrentPutsShouldStayWithinMaxSize() throws InterruptedException {
+        LruCache<Integer, String> large = new LruCache<>("large", 1024, Duration.ofMinutes(5), meterRegistry, clock);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            int offset = t * 1000;
+            executor.execute(() -> {
+                for (int i = offset; i < offset + 1000; i++) {
+                    large.put(i, "value", large.generation());
+                    large.get(i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(large.size()).isEqualTo(1024);
+        assertThat(meterRegistry.get("shareit.cache.evictions").tag("cache", "large").counter().count())
+                .isEqualTo(8000 - 1024);
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant instant = Instant.parse("2024-01-01T00:00:00Z");
+
+        LocalDateTime now() {
+            return LocalDateTime.now(this);
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.user.UserService;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.ShareItConstants.REQ_HEAD_USER_ID;
+import static ru.practicum.shareit.TestUsers.createUser;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ItemControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @SpyBean
+    private ItemRepository itemRepository;
+
+    private Integer ownerId;
+    private Integer viewerId;
+    private Integer itemId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = createUser(userService);
+        viewerId = createUser(userService);
+        itemId = itemService.createItem(ownerId, new ItemCreateDto("Item", "Description", true)).id();
+    }
+
+    @Test
+    void getItemByIdShouldAnswerNotModifiedUntilItemChanges() throws Exception {
+        String etag = mockMvc.perform(get("/items/{itemId}", itemId).header(REQ_HEAD_USER_ID, viewerId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/items/{itemId}", itemId).header(REQ_HEAD_USER_ID, viewerId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        itemService.updateItem(ownerId, new ItemUpdateDto(itemId, "Renamed", null, null));
+
+        String changed = mockMvc.perform(get("/items/{itemId}", itemId).header(REQ_HEAD_USER_ID, viewerId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Renamed"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changed).isNotEqualTo(etag);
+    }
+
+    @Test
+    void getItemByIdShouldNotShareOwnerETagWithViewers() throws Exception {
+        String ownerETag = mockMvc.perform(get("/items/{itemId}", itemId).header(REQ_HEAD_USER_ID, ownerId))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/items/{itemId}", itemId).header(REQ_HEAD_USER_ID, viewerId)
+                        .header(HttpHeaders.IF_NONE_MATCH, ownerETag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void updateItemShouldAnswerConflictWhenItemChangedConcurrently() throws Exception {
+        // Another PATCH of the item commits between the load and the save of this one. The stub returns a copy,
+        // as the request shares its persistence context with the nested update here but not in production
+        AtomicBoolean raced = new AtomicBoolean();
+        doAnswer(invocation -> {
+            Optional<Item> loaded = itemRepository.findAllById(List.of(itemId)).stream()
+                    .map(item -> ItemMapper.patchItem(item, new ItemUpdateDto(itemId, null, null, null)))
+                    .findFirst();
+            if (raced.compareAndSet(false, true)) {
+                itemService.updateItem(ownerId, new ItemUpdateDto(itemId, "Concurrent", null, null));
+            }
+            return loaded;
+        }).when(itemRepository).findById(itemId);
+
+        mockMvc.perform(patch("/items/{itemId}", itemId).header(REQ_HEAD_USER_ID, ownerId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Renamed\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Conflict"));
+
+        assertThat(itemService.getItemById(ownerId, itemId).name()).isEqualTo("Concurrent");
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemShortResponseDto;
+import ru.practicum.shareit.user.User;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexTest {
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final ItemSearchIndex itemSearchIndex = new ItemSearchIndex(itemRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(itemRepository.findByAvailableTrue()).thenReturn(List.of(
+                item(1, "Дрель", "Простая дрель", true),
+                item(2, "Отвертка", "Аккумуляторная отвертка", true),
+                item(3, "Hammer", "Heavy-duty claw hammer", true),
+                item(4, "Ящик для инструментов", "Подходит для дрели и отвертки", true)
+        ));
+        itemSearchIndex.rebuild();
+    }
+
+    @Test
+    void searchShouldMatchSubstringIgnoringCase() {
+        assertThat(search("ДРЕЛ")).containsExactly(1, 4);
+        assertThat(search("аккум")).containsExactly(2);
+        assertThat(search("mmer")).containsExactly(3);
+    }
+
+    @Test
+    void searchShouldMatchShortFragment() {
+        assertThat(search("am")).containsExactly(3);
+        assertThat(search("z")).isEmpty();
+    }
+
+    @Test
+    void searchShouldMatchTextShorterThanTrigram() {
+        itemSearchIndex.put(item(5, "TV", "LG", true));
+
+        assertThat(search("tv")).containsExactly(5);
+        assertThat(search("v")).containsExactly(5, 3);
+        assertThat(search("lg")).containsExactly(5);
+        assertThat(search("tvs")).isEmpty();
+    }
+
+    @Test
+    void searchShouldMatchAcrossWords() {
+        assertThat(search("y-duty cl")).containsExactly(3);
+        assertThat(search("duty hammer")).isEmpty();
+    }
+
+    @Test
+    void searchShouldRankNameHitsAboveDescriptionHits() {
+        assertThat(search("отвертк")).containsExactly(2, 4);
+        assertThat(search("инструмент")).containsExactly(4);
+    }
+
+    @Test
+    void putShouldDropUnavailableItem() {
+        itemSearchIndex.put(item(1, "Дрель", "Простая дрель", false));
+
+        assertThat(search("дрель")).isEmpty();
+    }
+
+    @Test
+    void putShouldReindexUpdatedItem() {
+        itemSearchIndex.put(item(2, "Шуруповерт", "Аккумуляторный", true));
+
+        assertThat(search("отвертк")).containsExactly(4);
+        assertThat(search("шуруп")).containsExactly(2);
+    }
+
+    @Test
+    void removeShouldDropItem() {
+        itemSearchIndex.removeAll(List.of(1, 3, 4));
+
+        assertThat(search("а")).containsExactly(2);
+    }
+
+    @Test
+    void searchShouldSeekAfterHit() {
+        List<ItemSearchIndex.Hit> firstPage = itemSearchIndex.search("е", null, 2);
+        List<ItemSearchIndex.Hit> secondPage = itemSearchIndex.search("е", firstPage.getLast(), 2);
+
+        assertThat(firstPage).extracting(ItemSearchIndex.Hit::itemId).containsExactly(1, 2);
+        assertThat(secondPage).extracting(ItemSearchIndex.Hit::itemId).containsExactly(4);
+    }
+
+    @Test
+    void suggestShouldMatchNameWordPrefix() {
+        assertThat(itemSearchIndex.suggest("ИНСТР", 10))
+                .extracting(ItemShortResponseDto::id).containsExactly(4);
+        assertThat(itemSearchIndex.suggest("ящик дл", 10))
+                .extracting(ItemShortResponseDto::name).containsExactly("Ящик для инструментов");
+        assertThat(itemSearchIndex.suggest("рель", 10)).isEmpty();
+    }
+
+    @Test
+    void suggestShouldRankNamePrefixFirst() {
+        itemSearchIndex.put(item(5, "Дрель ударная", "Для бетона", true));
+        itemSearchIndex.put(item(6, "Ударная дрель", "Для бетона", true));
+
+        assertThat(itemSearchIndex.suggest("дрел", 10))
+                .extracting(ItemShortResponseDto::id).containsExactly(1, 5, 6);
+        assertThat(itemSearchIndex.suggest("дрел", 1))
+                .extracting(ItemShortResponseDto::id).containsExactly(1);
+    }
+
+    private List<Integer> search(String text) {
+        return itemSearchIndex.search(text, null, Integer.MAX_VALUE).stream()
+                .map(ItemSearchIndex.Hit::itemId)
+                .toList();
+    }
+
+    private static Item item(Integer id, String name, String description, boolean available) {
+        return new Item(id, name, description, available, new User(1, "Owner", "owner@mail.ru", 0), 0, 0);
+    }
+}
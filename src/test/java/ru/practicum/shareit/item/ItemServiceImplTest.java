@@ -0,0 +1,217 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.TimeSlotDto;
+import ru.practicum.shareit.comment.dto.CommentCreateDto;
+import ru.practicum.shareit.comment.dto.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.page.CursorPage;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.TestUsers.createUser;
+import static ru.practicum.shareit.TestUsers.uniqueName;
+
+@SpringBootTest
+class ItemServiceImplTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemViewCache itemViewCache;
+
+    private Integer ownerId;
+    private Integer authorId;
+    private final List<Integer> itemIds = new ArrayList<>();
+    private final Set<Integer> bookedItemIds = new HashSet<>();
+
+    @BeforeEach
+    void setUp() {
+        ownerId = createUser(userService);
+        authorId = createUser(userService);
+        for (int i = 0; i < 3; i++) {
+            itemIds.add(itemService.createItem(ownerId, new ItemCreateDto("Item " + i, "Description", true)).id());
+        }
+    }
+
+    @Test
+    void getItemsByUserIdShouldPageItemsWithLatestComments() {
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            texts.add(comment(itemIds.get(0), "Comment " + i).text());
+        }
+        comment(itemIds.get(1), "Single comment");
+
+        CursorPage<ItemResponseDto> firstPage = itemService.getItemsByUserId(ownerId, 0, 2, null);
+        CursorPage<ItemResponseDto> secondPage = itemService.getItemsByUserId(ownerId, 0, 2, firstPage.nextCursor());
+
+        assertThat(firstPage.content()).extracting(ItemResponseDto::id).containsExactly(itemIds.get(0),
+                itemIds.get(1));
+        assertThat(firstPage.content().getFirst().comments()).extracting(CommentResponseDto::text)
+                .containsExactlyElementsOf(texts.subList(2, 5));
+        assertThat(firstPage.content().getFirst().comments()).allSatisfy(comment -> {
+            assertThat(comment.created()).isNotNull();
+            assertThat(comment.authorName()).isNotBlank();
+        });
+        assertThat(firstPage.content().getLast().comments()).extracting(CommentResponseDto::text)
+                .containsExactly("Single comment");
+        assertThat(firstPage.content()).extracting(ItemResponseDto::commentCount).containsExactly(5, 1);
+        assertThat(secondPage.content()).extracting(ItemResponseDto::id).containsExactly(itemIds.get(2));
+        assertThat(secondPage.nextCursor()).isNull();
+        assertThat(itemService.getItemsByUserId(ownerId, 2, 10, null).content())
+                .extracting(ItemResponseDto::id).containsExactly(itemIds.get(2));
+    }
+
+    @Test
+    void getCommentsShouldPageThread() {
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            texts.add(comment(itemIds.get(0), "Comment " + i).text());
+        }
+
+        CursorPage<CommentResponseDto> firstPage = itemService.getComments(authorId, itemIds.get(0), null, 2);
+        CursorPage<CommentResponseDto> secondPage = itemService.getComments(authorId, itemIds.get(0),
+                firstPage.nextCursor(), 2);
+        CursorPage<CommentResponseDto> lastPage = itemService.getComments(authorId, itemIds.get(0),
+                secondPage.nextCursor(), 2);
+
+        assertThat(firstPage.content()).extracting(CommentResponseDto::text)
+                .containsExactlyElementsOf(texts.subList(0, 2));
+        assertThat(secondPage.content()).extracting(CommentResponseDto::text)
+                .containsExactlyElementsOf(texts.subList(2, 4));
+        assertThat(lastPage.content()).extracting(CommentResponseDto::text).containsExactly(texts.get(4));
+        assertThat(lastPage.nextCursor()).isNull();
+        assertThat(itemService.getComments(authorId, itemIds.get(1), null, 10).content()).isEmpty();
+    }
+
+    @Test
+    void getItemByIdShouldCountCommentsAndShowLatest() {
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            texts.add(comment(itemIds.get(0), "Comment " + i).text());
+        }
+
+        ItemResponseDto item = itemService.getItemById(authorId, itemIds.get(0));
+
+        assertThat(item.commentCount()).isEqualTo(5);
+        assertThat(item.comments()).extracting(CommentResponseDto::text)
+                .containsExactlyElementsOf(texts.subList(2, 5));
+        assertThat(itemService.getItemById(ownerId, itemIds.get(1)).commentCount()).isZero();
+    }
+
+    @Test
+    void getItemByIdShouldServeCachedViewUntilChanged() {
+        ItemResponseDto ownerView = itemService.getItemById(ownerId, itemIds.get(0));
+        ItemResponseDto viewerView = itemService.getItemById(authorId, itemIds.get(0));
+
+        assertThat(itemService.getItemById(ownerId, itemIds.get(0))).isSameAs(ownerView);
+        assertThat(itemService.getItemById(authorId, itemIds.get(0))).isSameAs(viewerView);
+
+        itemService.updateItem(ownerId, new ItemUpdateDto(itemIds.get(0), "Renamed", null, null));
+        assertThat(itemService.getItemById(authorId, itemIds.get(0)).name()).isEqualTo("Renamed");
+
+        comment(itemIds.get(0), "New comment");
+        assertThat(itemService.getItemById(ownerId, itemIds.get(0)).commentCount()).isEqualTo(1);
+        assertThat(itemService.getItemById(authorId, itemIds.get(0)).comments()).extracting(CommentResponseDto::text)
+                .containsExactly("New comment");
+    }
+
+    @Test
+    void getItemAvailabilityShouldReturnBookableSlots() {
+        Integer itemId = itemIds.get(2);
+        LocalDateTime origin = LocalDateTime.now().plusDays(10).withNano(0);
+        bookingService.createBooking(authorId, new BookingCreateDto(itemId, origin.plusHours(1), origin.plusHours(2)));
+        bookingService.createBooking(authorId, new BookingCreateDto(itemId, origin.plusHours(4), origin.plusHours(5)));
+
+        List<TimeSlotDto> slots = itemService.getItemAvailability(authorId, itemId, origin, origin.plusHours(6));
+        assertThat(slots).containsExactly(
+                new TimeSlotDto(origin, origin.plusHours(1)),
+                new TimeSlotDto(origin.plusHours(2), origin.plusHours(4)),
+                new TimeSlotDto(origin.plusHours(5), origin.plusHours(6)));
+
+        TimeSlotDto slot = slots.get(1);
+        assertThat(bookingService.createBooking(authorId, new BookingCreateDto(itemId, slot.start(), slot.end()))
+                .start()).isEqualTo(slot.start());
+
+        itemService.updateItem(ownerId, new ItemUpdateDto(itemId, null, null, false));
+        assertThat(itemService.getItemAvailability(authorId, itemId, origin, origin.plusHours(6))).isEmpty();
+    }
+
+    @Test
+    void renameShouldRefreshCachedCommentPreviewsOfAuthor() {
+        comment(itemIds.get(0), "Comment");
+        itemService.getItemById(ownerId, itemIds.get(0));
+        itemService.getItemById(ownerId, itemIds.get(1));
+
+        userService.updateUser(new UserUpdateDto(authorId, "Renamed", null));
+
+        assertThat(itemViewCache.get(ownerId, itemIds.get(0))).isNull();
+        assertThat(itemViewCache.get(ownerId, itemIds.get(1))).isNotNull();
+        assertThat(itemService.getItemById(ownerId, itemIds.get(0)).comments())
+                .extracting(CommentResponseDto::authorName).containsExactly("Renamed");
+    }
+
+    @Test
+    void getItemsByTextShouldPageFreeItemsPastBusyChunks() {
+        String word = "free" + uniqueName();
+        LocalDateTime start = LocalDateTime.now().plusDays(20).withNano(0);
+        List<Integer> freeItemIds = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            Integer itemId = itemService.createItem(ownerId, new ItemCreateDto(word + " " + i, "Description", true))
+                    .id();
+            if (i < 12) {
+                bookingService.createBooking(authorId, new BookingCreateDto(itemId, start, start.plusHours(1)));
+            } else {
+                freeItemIds.add(itemId);
+            }
+        }
+
+        CursorPage<ItemResponseDto> firstPage = itemService.getItemsByText(authorId, word, start,
+                start.plusHours(1), null, 2);
+        CursorPage<ItemResponseDto> secondPage = itemService.getItemsByText(authorId, word, start,
+                start.plusHours(1), firstPage.nextCursor(), 2);
+
+        assertThat(firstPage.content()).extracting(ItemResponseDto::id).containsExactlyElementsOf(
+                freeItemIds.subList(0, 2));
+        assertThat(secondPage.content()).extracting(ItemResponseDto::id).containsExactly(freeItemIds.get(2));
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    private CommentResponseDto comment(Integer itemId, String text) {
+        if (bookedItemIds.add(itemId)) {
+            completeBooking(itemId);
+        }
+        return itemService.createComment(authorId, itemId, new CommentCreateDto(text));
+    }
+
+    private void completeBooking(Integer itemId) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Integer bookingId = bookingService.createBooking(authorId,
+                new BookingCreateDto(itemId, start, start.plusHours(1))).id();
+        Booking booking = bookingRepository.findById(bookingId).orElseThrow();
+        booking.setStart(start.minusDays(3));
+        booking.setEnd(start.minusDays(2));
+        bookingRepository.save(booking);
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.page.PageCursor;
+import ru.practicum.shareit.user.dto.UserResponseDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.ShareItConstants.RESP_HEAD_NEXT_CURSOR;
+import static ru.practicum.shareit.TestUsers.createUser;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserService userService;
+
+    private final List<Integer> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            userIds.add(createUser(userService));
+        }
+    }
+
+    @Test
+    void getAllUsersShouldPageById() throws Exception {
+        String cursor = PageCursor.of(userIds.getFirst() - 1).encode();
+
+        String nextCursor = mockMvc.perform(get("/users").param("cursor", cursor).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(userIds.get(0), userIds.get(1))))
+                .andReturn().getResponse().getHeader(RESP_HEAD_NEXT_CURSOR);
+
+        mockMvc.perform(get("/users").param("cursor", nextCursor).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id", contains(userIds.get(2))));
+        mockMvc.perform(get("/users").param("size", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamAllUsersShouldWriteOneUserPerLine() throws Exception {
+        MvcResult result = mockMvc.perform(get("/users/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE))
+                .andExpect(content().string(endsWith("\n")))
+                .andReturn().getResponse().getContentAsString();
+
+        List<UserResponseDto> users = objectMapper.readerFor(UserResponseDto.class)
+                .<UserResponseDto>readValues(body)
+                .readAll();
+        assertThat(users).extracting(UserResponseDto::id).isSorted().containsAll(userIds);
+    }
+}
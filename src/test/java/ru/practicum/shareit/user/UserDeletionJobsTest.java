@@ -0,0 +1,166 @@
+package ru.practicum.shareit.user;
+
+import jakarta.validation.ValidationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingIntervalIndex;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.comment.dto.CommentCreateDto;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.user.dto.UserDeletionJobDto;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static ru.practicum.shareit.TestUsers.createUser;
+
+@SpringBootTest(properties = "shareit.user.deletion.chunk-size=1")
+class UserDeletionJobsTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Test
+    void deleteUserByIdShouldDeleteUserRowsInBackground() throws InterruptedException {
+        Integer userId = createUser(userService);
+        Integer otherId = createUser(userService);
+        Integer ownItemId = itemService.createItem(userId, new ItemCreateDto("Own item", "Description", true)).id();
+        itemService.createItem(userId, new ItemCreateDto("Second item", "Description", true));
+        Integer otherItemId = itemService.createItem(otherId, new ItemCreateDto("Other item", "Description", true))
+                .id();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Integer ownItemBookingId = bookingService.createBooking(otherId,
+                new BookingCreateDto(ownItemId, start, start.plusHours(1))).id();
+        Integer userBookingId = bookingService.createBooking(userId,
+                new BookingCreateDto(otherItemId, start, start.plusHours(1))).id();
+        Booking userBooking = bookingRepository.findById(userBookingId).orElseThrow();
+        userBooking.setStart(start.minusDays(3));
+        userBooking.setEnd(start.minusDays(2));
+        bookingRepository.save(userBooking);
+        itemService.createComment(userId, otherItemId, new CommentCreateDto("Comment"));
+
+        UserDeletionJobDto job = await(userService.deleteUserById(userId).id());
+
+        assertThat(job.status()).isEqualTo(UserDeletionStatus.DONE);
+        assertThat(job.deletedRows()).isEqualTo(6);
+        assertThat(userRepository.existsById(userId)).isFalse();
+        assertThat(itemRepository.existsById(ownItemId)).isFalse();
+        assertThat(bookingRepository.existsById(ownItemBookingId)).isFalse();
+        assertThat(bookingRepository.existsById(userBookingId)).isFalse();
+        assertThat(itemService.getItemById(otherId, otherItemId).commentCount()).isZero();
+        assertThat(itemService.getItemById(otherId, otherItemId).comments()).isEmpty();
+        assertThat(itemService.getItemsByText(otherId, "own item", null, null, null, 10).content()).isEmpty();
+        assertThatThrownBy(() -> userService.getUserById(userId)).isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> userService.deleteUserById(userId)).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void deleteUserByIdShouldKeepOtherBookingsBlockingWhileCreatesRun() throws InterruptedException {
+        Integer userId = createUser(userService);
+        Integer ownerId = createUser(userService);
+        Integer bookerId = createUser(userService);
+        Integer otherBookerId = createUser(userService);
+        Integer itemId = itemService.createItem(ownerId, new ItemCreateDto("Item", "Description", true)).id();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 1; i <= 20; i++) {
+            bookingService.createBooking(userId,
+                    new BookingCreateDto(itemId, start.plusHours(2L * i), start.plusHours(2L * i + 1)));
+        }
+        bookingService.createBooking(bookerId, new BookingCreateDto(itemId, start, start.plusHours(1)));
+
+        String jobId = userService.deleteUserById(userId).id();
+        int overlapping = 0;
+        while (userService.getUserDeletion(jobId).finished() == null) {
+            try {
+                bookingService.createBooking(otherBookerId, new BookingCreateDto(itemId, start, start.plusHours(1)));
+                overlapping++;
+            } catch (ValidationException e) {
+                // The booking of the other booker still blocks the range
+            }
+        }
+        UserDeletionJobDto job = await(jobId);
+
+        assertThat(job.status()).isEqualTo(UserDeletionStatus.DONE);
+        assertThat(overlapping).isZero();
+        assertThat(bookingIntervalIndex.overlaps(itemId, start, start.plusHours(1))).isTrue();
+        assertThat(bookingIntervalIndex.overlaps(itemId, start.plusHours(2), start.plusHours(41))).isFalse();
+    }
+
+    @Test
+    void deleteUserByIdShouldRejectWritesOfUserWhileRunning() throws InterruptedException {
+        Integer userId = createUser(userService);
+        Integer ownerId = createUser(userService);
+        Integer itemId = itemService.createItem(ownerId, new ItemCreateDto("Item", "Description", true)).id();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < 20; i++) {
+            bookingService.createBooking(userId,
+                    new BookingCreateDto(itemId, start.plusHours(2L * i), start.plusHours(2L * i + 1)));
+        }
+
+        String jobId = userService.deleteUserById(userId).id();
+
+        assertThatThrownBy(() -> itemService.createItem(userId, new ItemCreateDto("Late item", "Description", true)))
+                .isInstanceOf(ConflictException.class);
+        assertThatThrownBy(() -> bookingService.createBooking(userId,
+                new BookingCreateDto(itemId, start.minusHours(2), start.minusHours(1))))
+                .isInstanceOf(ConflictException.class);
+        assertThat(await(jobId).status()).isEqualTo(UserDeletionStatus.DONE);
+    }
+
+    @Test
+    void deleteUserShouldReturnRowsDeletedWithUser() {
+        Integer userId = createUser(userService);
+        Integer otherId = createUser(userService);
+        Integer ownItemId = itemService.createItem(userId, new ItemCreateDto("Swept item", "Description", true)).id();
+        Integer otherItemId = itemService.createItem(otherId, new ItemCreateDto("Kept item", "Description", true))
+                .id();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        Integer ownItemBookingId = bookingService.createBooking(otherId,
+                new BookingCreateDto(ownItemId, start, start.plusHours(1))).id();
+        Integer userBookingId = bookingService.createBooking(userId,
+                new BookingCreateDto(otherItemId, start, start.plusHours(1))).id();
+
+        DeletedUser deleted = userRepository.deleteUser(userId);
+
+        assertThat(deleted.rows()).isEqualTo(4);
+        assertThat(deleted.itemIds()).containsExactly(ownItemId);
+        assertThat(deleted.bookings().bookingIds()).containsExactlyInAnyOrder(ownItemBookingId, userBookingId);
+        assertThat(deleted.bookings().itemIds()).containsExactlyInAnyOrder(ownItemId, otherItemId);
+        assertThat(userRepository.existsById(userId)).isFalse();
+        assertThat(bookingRepository.existsById(userBookingId)).isFalse();
+    }
+
+    @Test
+    void getUserDeletionShouldRejectUnknownJob() {
+        assertThatThrownBy(() -> userService.getUserDeletion("unknown")).isInstanceOf(NotFoundException.class);
+    }
+
+    private UserDeletionJobDto await(String jobId) throws InterruptedException {
+        UserDeletionJobDto job = userService.getUserDeletion(jobId);
+        for (int i = 0; i < 100 && job.finished() == null; i++) {
+            Thread.sleep(50);
+            job = userService.getUserDeletion(jobId);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserResolverTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserResolver userResolver = new UserResolver(userRepository, new SimpleMeterRegistry(), 10,
+            Duration.ofMinutes(10), Duration.ofMinutes(1));
+
+    @Test
+    void checkExistsShouldCacheKnownUser() {
+        when(userRepository.existsById(1)).thenReturn(true);
+
+        userResolver.checkExists(1);
+        userResolver.checkExists(1);
+
+        verify(userRepository, times(1)).existsById(1);
+    }
+
+    @Test
+    void checkExistsShouldCacheUnknownUserUntilInvalidated() {
+        when(userRepository.existsById(2)).thenReturn(false);
+
+        assertThatThrownBy(() -> userResolver.checkExists(2)).isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> userResolver.checkExists(2)).isInstanceOf(NotFoundException.class);
+        verify(userRepository, times(1)).existsById(2);
+
+        when(userRepository.existsById(2)).thenReturn(true);
+        userResolver.invalidate(2);
+        userResolver.checkExists(2);
+        verify(userRepository, times(2)).existsById(2);
+    }
+
+    @Test
+    void checkExistsShouldRecheckDeletedUser() {
+        when(userRepository.existsById(3)).thenReturn(true);
+        userResolver.checkExists(3);
+
+        when(userRepository.existsById(3)).thenReturn(false);
+        userResolver.invalidate(3);
+
+        assertThatThrownBy(() -> userResolver.checkExists(3)).isInstanceOf(NotFoundException.class);
+    }
+}